@@ -2,10 +2,15 @@ package com.musalasoft.drones;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableScheduling
-@SpringBootApplication
+//JPA runs on the JDBC DataSource, an auto-configured R2DBC ConnectionFactory would make it back off. Reactive reads
+//use their own pool, see ReactiveDatabase
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class DronesApplication {
 
 	public static void main(String[] args) {
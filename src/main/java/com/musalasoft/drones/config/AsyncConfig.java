@@ -0,0 +1,77 @@
+package com.musalasoft.drones.config;
+
+import com.musalasoft.drones.events.DroneEventStreamProperties;
+import com.musalasoft.drones.events.TelemetryProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Slf4j
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    public static final String BACKGROUND_JOB_EXECUTOR = "backgroundJobExecutor";
+    public static final String TELEMETRY_SHARD_EXECUTOR = "telemetryShardExecutor";
+    public static final String DRONE_EVENT_EXECUTOR = "droneEventExecutor";
+
+    private static final String THREAD_NAME_PREFIX = "background-job-";
+
+    @Bean(name = BACKGROUND_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor backgroundJobExecutor(BackgroundJobProperties properties, MeterRegistry meterRegistry) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        if (properties.isVirtualThreads() && Runtime.version().feature() >= 21) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX).getVirtualThreadFactory());
+            log.info("Background jobs running on virtual threads");
+        } else {
+            log.info("Background jobs running on platform threads");
+        }
+
+        executor.initialize();
+
+        Gauge.builder("drones.jobs.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Background jobs waiting for a free worker")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    @Bean(name = TELEMETRY_SHARD_EXECUTOR)
+    public ThreadPoolTaskExecutor telemetryShardExecutor(TelemetryProperties properties) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getParallelism());
+        executor.setMaxPoolSize(properties.getParallelism());
+        executor.setThreadNamePrefix("telemetry-shard-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    //Sender tasks are handed to a thread rather than queued behind a send stalled on a slow client. At most one
+    //sender task runs per subscriber, so the pool never needs more threads than the subscriber limit
+    @Bean(name = DRONE_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor droneEventExecutor(DroneEventStreamProperties properties) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getSenderThreads());
+        executor.setMaxPoolSize(Math.max(properties.getSenderThreads(), properties.getMaxSubscribers()));
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("drone-events-");
+        executor.initialize();
+        return executor;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.musalasoft.drones.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.jobs")
+public class BackgroundJobProperties {
+
+    /**
+     * Maximum number of background jobs running at the same time.
+     */
+    private int poolSize = 2;
+
+    /**
+     * Jobs waiting for a free worker, anything beyond this is rejected.
+     */
+    private int queueCapacity = 10;
+
+    /**
+     * Run jobs on virtual threads when the JVM supports them (JDK 21+), platform threads otherwise.
+     */
+    private boolean virtualThreads = true;
+
+}
@@ -0,0 +1,40 @@
+package com.musalasoft.drones.config;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Shared by the bulk registration paths, fleet registration and medication import. Each entry is validated on its
+ * own so a bad one is reported back instead of failing the whole body. The accepted entries go to a batch writer
+ * declared as a {@link org.springframework.stereotype.Repository}, so a unique key taken by a concurrent
+ * registration after the duplicate lookup surfaces as {@link org.springframework.dao.DataIntegrityViolationException}
+ * and the caller checks for duplicates again.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchRegistration {
+
+    private final Validator validator;
+
+    /**
+     * Returns the constraint violations of one entry as a sorted "property message" list, or null when it is valid.
+     * A null entry, such as a JSON {@code null} in the body, is rejected like any other invalid one.
+     */
+    public String violations(Object request) {
+        if (request == null)
+            return "Entry must not be null";
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty())
+            return null;
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+}
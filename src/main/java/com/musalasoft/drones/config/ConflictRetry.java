@@ -0,0 +1,66 @@
+package com.musalasoft.drones.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it from scratch when it loses an optimistic version check
+ * or a row lock to a concurrent update. Each attempt re-reads its entities, so a retry sees the winner's changes.
+ */
+@Slf4j
+@Component
+public class ConflictRetry {
+
+    private final ConflictRetryProperties properties;
+
+    private final TransactionOperations transactionOperations;
+
+    private final Counter retries;
+
+    private final Counter exhausted;
+
+    public ConflictRetry(ConflictRetryProperties properties, TransactionOperations transactionOperations,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionOperations = transactionOperations;
+        this.retries = meterRegistry.counter("drones.conflict.retries");
+        this.exhausted = meterRegistry.counter("drones.conflict.exhausted");
+    }
+
+    public <T> T execute(TransactionCallback<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(action);
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    exhausted.increment();
+                    throw ex;
+                }
+                retries.increment();
+                log.debug("Concurrent update detected on attempt {}, retrying : {}", attempt, ex.getMessage());
+                backoff(attempt, ex);
+            }
+        }
+    }
+
+    private void backoff(int attempt, ConcurrencyFailureException conflict) {
+        long bound = properties.getBackoff().toNanos() * attempt;
+        if (bound <= 0)
+            return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(bound));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.musalasoft.drones.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.conflict-retry")
+public class ConflictRetryProperties {
+
+    /**
+     * Attempts, including the first one, before a conflicting update is reported to the caller.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Upper bound of the random pause before the first retry, grows linearly with each further attempt.
+     */
+    private Duration backoff = Duration.ofMillis(20);
+
+}
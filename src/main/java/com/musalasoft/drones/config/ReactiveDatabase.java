@@ -0,0 +1,84 @@
+package com.musalasoft.drones.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+/**
+ * R2DBC access to the application database for reads that must not hold a thread while they wait on it. The
+ * connection pool is deliberately not a {@code ConnectionFactory} bean: Spring Boot takes such a bean as the
+ * application's database and backs off the JDBC {@link DataSource} that JPA and all writes run on.
+ */
+@Component
+public class ReactiveDatabase implements DisposableBean {
+
+    private static final String H2_MEMORY = "jdbc:h2:mem:";
+
+    private final ConnectionPool connectionPool;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveDatabase(ReactiveDatabaseProperties properties, DataSource dataSource) {
+
+        ConnectionFactoryOptions options = options(properties, dataSource);
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("drones-reactive")
+                .maxSize(properties.getMaxPoolSize())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * An explicit url takes its credentials from the url itself or else from the properties. Without one, the url and
+     * the credentials are those of the Hikari pool.
+     */
+    static ConnectionFactoryOptions options(ReactiveDatabaseProperties properties, DataSource dataSource) {
+
+        String url = properties.getUrl();
+        String username = properties.getUsername();
+        String password = properties.getPassword();
+        if (url == null) {
+            if (!(dataSource instanceof HikariDataSource hikari))
+                throw new IllegalStateException("drones.reactive.url must be set when the pool is not Hikari");
+            url = r2dbcUrl(hikari.getJdbcUrl());
+            username = hikari.getUsername();
+            password = hikari.getPassword();
+        }
+
+        ConnectionFactoryOptions parsed = ConnectionFactoryOptions.parse(url);
+        ConnectionFactoryOptions.Builder options = parsed.mutate();
+        if (!parsed.hasOption(ConnectionFactoryOptions.USER))
+            options.option(ConnectionFactoryOptions.USER, Objects.requireNonNullElse(username, ""));
+        if (!parsed.hasOption(ConnectionFactoryOptions.PASSWORD))
+            options.option(ConnectionFactoryOptions.PASSWORD, Objects.requireNonNullElse(password, ""));
+        return options.build();
+    }
+
+    //jdbc:h2:mem:name;SETTINGS becomes r2dbc:h2:mem:///name, other drivers only swap the scheme
+    static String r2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl.startsWith(H2_MEMORY)) {
+            String name = jdbcUrl.substring(H2_MEMORY.length()).split(";", 2)[0];
+            return "r2dbc:h2:mem:///" + name;
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+
+    public DatabaseClient client() {
+        return databaseClient;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.musalasoft.drones.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.reactive")
+public class ReactiveDatabaseProperties {
+
+    /**
+     * R2DBC url of the application database. Unset derives it from the JDBC url, so both drivers reach the same
+     * database, including an in-memory H2 one.
+     */
+    private String url;
+
+    /**
+     * Used with an explicit url that carries no user, ignored when the url is derived.
+     */
+    private String username;
+
+    /**
+     * Used with an explicit url that carries no password, ignored when the url is derived.
+     */
+    private String password;
+
+    /**
+     * R2DBC connections shared by all non-blocking reads.
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * Pooled connections idle this long are closed.
+     */
+    private Duration maxIdleTime = Duration.ofMinutes(30);
+
+}
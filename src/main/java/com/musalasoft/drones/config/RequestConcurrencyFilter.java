@@ -0,0 +1,118 @@
+package com.musalasoft.drones.config;
+
+import com.musalasoft.drones.events.TelemetryProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits at most as many API requests as the connection pool can serve. With virtual threads every request gets a
+ * thread of its own, so without this cap a burst of thousands of requests would all park on Hikari and fail
+ * together on its connection timeout; here the excess waits briefly for a slot and is then refused with 503.
+ * Streaming requests only hold a slot until the stream is opened, reads served from memory never take one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "drones.web.concurrency", name = "enabled", havingValue = "true")
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore slots;
+
+    private final int maxRequests;
+
+    private final List<String> unlimitedPaths;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final long acquireTimeoutNanos;
+
+    private final Counter rejected;
+
+    public RequestConcurrencyFilter(RequestConcurrencyProperties properties, TelemetryProperties telemetryProperties,
+                                    DataSource dataSource, Environment environment, MeterRegistry meterRegistry) {
+
+        this.maxRequests = properties.getMaxRequests() > 0
+                ? properties.getMaxRequests() : requestConnections(dataSource, telemetryProperties);
+        this.unlimitedPaths = List.copyOf(properties.getUnlimitedPaths());
+        this.slots = new Semaphore(maxRequests, true);
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+        this.rejected = meterRegistry.counter("drones.web.concurrency.rejected");
+        Gauge.builder("drones.web.concurrency.waiting", slots, Semaphore::getQueueLength)
+                .description("API requests waiting for a free slot")
+                .register(meterRegistry);
+
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (virtualThreads && Runtime.version().feature() < 21)
+            log.warn("Virtual threads need Java 21, requests run on platform threads on Java {}",
+                    Runtime.version().feature());
+        log.info("API requests limited to {} in flight, {} unlimited", maxRequests, unlimitedPaths);
+    }
+
+    //Every sweep shard holds a read connection and briefly a write connection for its whole run
+    private static int requestConnections(DataSource dataSource, TelemetryProperties telemetryProperties) {
+        if (!(dataSource instanceof HikariDataSource hikari))
+            throw new IllegalStateException("drones.web.concurrency.max-requests must be set when the pool is not Hikari");
+        int sweepConnections = 2 * telemetryProperties.getParallelism();
+        return Math.max(hikari.getMaximumPoolSize() - sweepConnections, 1);
+    }
+
+    int maxRequests() {
+        return maxRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (!path.startsWith("/api/"))
+            return true;
+        return HttpMethod.GET.matches(request.getMethod())
+                && unlimitedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!acquire()) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many requests in flight, try again later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return slots.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
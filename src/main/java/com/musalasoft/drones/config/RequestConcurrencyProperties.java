@@ -0,0 +1,38 @@
+package com.musalasoft.drones.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.web.concurrency")
+public class RequestConcurrencyProperties {
+
+    /**
+     * Caps API requests in flight. Platform threads are already capped by the Tomcat pool, virtual threads are not.
+     */
+    private boolean enabled = false;
+
+    /**
+     * API requests allowed in flight at once, 0 uses the Hikari maximum pool size minus the connections held by the
+     * battery sweep, so every admitted request can get a connection without waiting.
+     */
+    private int maxRequests = 0;
+
+    /**
+     * GET paths served from memory that are never limited. Cache misses on them go to the pool and wait on its own
+     * connection timeout.
+     */
+    private List<String> unlimitedPaths = List.of("/api/v1/drones/available", "/api/v1/drones/events",
+            "/api/v1/drones/*/battery-level", "/api/v1/drones/*/medications");
+
+    /**
+     * How long a request waits for a slot before it is refused with 503.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+}
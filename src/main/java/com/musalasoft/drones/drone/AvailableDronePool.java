@@ -0,0 +1,154 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of IDLE drones, grouped by {@link Model} and ordered by battery then remaining weight capacity,
+ * plus a second index ordered by weight limit used to dispatch the smallest drone that fits. Loaded once at startup
+ * and kept current by {@link DroneService} on every state change, so availability queries never scan the drone table.
+ */
+@Slf4j
+@Component
+public class AvailableDronePool implements SmartInitializingSingleton {
+
+    private final DroneRepository droneRepository;
+
+    private final Map<Model, NavigableSet<AvailableDrone>> byModel = new EnumMap<>(Model.class);
+
+    private final NavigableSet<AvailableDrone> byCapacity =
+            new ConcurrentSkipListSet<>(AvailableDrone.BY_CAPACITY_AND_BATTERY);
+
+    private final Map<String, AvailableDrone> bySerialNumber = new ConcurrentHashMap<>();
+
+    public AvailableDronePool(DroneRepository droneRepository) {
+        this.droneRepository = droneRepository;
+        for (Model model : Model.values())
+            byModel.put(model, new ConcurrentSkipListSet<>(AvailableDrone.BY_BATTERY_AND_CAPACITY));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<AvailableDrone> idleDrones = droneRepository.findAvailableDrones(State.IDLE);
+        idleDrones.forEach(this::add);
+        log.info("Available drone pool loaded with {} idle drones", idleDrones.size());
+    }
+
+    /**
+     * Adds, refreshes or removes the drone depending on its current state. Applied after commit when called
+     * inside a transaction.
+     */
+    void update(Drone drone) {
+        AvailableDrone available = drone.getDroneState() == State.IDLE
+                ? new AvailableDrone(drone.getDroneId(), drone.getSerialNumber(), drone.getModel(),
+                        drone.getWeightLimit(), drone.getBatteryCapacity())
+                : null;
+        String serialNumber = drone.getSerialNumber();
+        AfterCommit.run(() -> replace(serialNumber, available));
+    }
+
+    /**
+     * Adds or refreshes a drone known to be IDLE, after commit when called inside a transaction.
+     */
+    void put(AvailableDrone drone) {
+        AfterCommit.run(() -> replace(drone.serialNumber(), drone));
+    }
+
+    /**
+     * Drops a drone that has left IDLE, after commit when called inside a transaction.
+     */
+    void remove(String serialNumber) {
+        AfterCommit.run(() -> replace(serialNumber, null));
+    }
+
+    private void add(AvailableDrone drone) {
+        replace(drone.serialNumber(), drone);
+    }
+
+    private void replace(String serialNumber, AvailableDrone available) {
+        bySerialNumber.compute(serialNumber, (key, previous) -> {
+            if (previous != null)
+                removeFromIndexes(previous);
+            if (available != null)
+                addToIndexes(available);
+            return available;
+        });
+    }
+
+    private void addToIndexes(AvailableDrone drone) {
+        byModel.get(drone.model()).add(drone);
+        byCapacity.add(drone);
+    }
+
+    private void removeFromIndexes(AvailableDrone drone) {
+        byModel.get(drone.model()).remove(drone);
+        byCapacity.remove(drone);
+    }
+
+    /**
+     * Removes and returns the IDLE drone with the smallest weight limit that can carry the given weight and has at
+     * least the given battery. The drone stays out of the pool until it is {@link #release released} or its new
+     * state is published, so concurrent callers never get the same drone.
+     */
+    Optional<AvailableDrone> claimSmallestFitting(int weight, int minBatteryCapacity) {
+        AvailableDrone lowest = new AvailableDrone(Long.MIN_VALUE, null, null, weight, Integer.MAX_VALUE);
+        for (AvailableDrone drone : byCapacity.tailSet(lowest, true)) {
+            if (drone.batteryCapacity() >= minBatteryCapacity && claim(drone))
+                return Optional.of(drone);
+        }
+        return Optional.empty();
+    }
+
+    private boolean claim(AvailableDrone drone) {
+        boolean[] claimed = new boolean[1];
+        bySerialNumber.computeIfPresent(drone.serialNumber(), (key, current) -> {
+            if (!current.equals(drone))
+                return current;
+            removeFromIndexes(current);
+            claimed[0] = true;
+            return null;
+        });
+        return claimed[0];
+    }
+
+    /**
+     * Puts back a claimed drone that was not loaded, unless a newer state has been published for it meanwhile.
+     */
+    void release(AvailableDrone drone) {
+        bySerialNumber.computeIfAbsent(drone.serialNumber(), key -> {
+            addToIndexes(drone);
+            return drone;
+        });
+    }
+
+    /**
+     * IDLE drones matching the filters, fullest battery first. Only the qualifying battery range is walked.
+     */
+    public List<AvailableDrone> find(Model model, int minBatteryCapacity, int minWeightLimit) {
+
+        Collection<Model> models = Objects.isNull(model) ? byModel.keySet() : List.of(model);
+        List<AvailableDrone> result = new ArrayList<>();
+
+        for (Model candidateModel : models) {
+            for (AvailableDrone drone : byModel.get(candidateModel)) {
+                if (drone.batteryCapacity() < minBatteryCapacity)
+                    break;
+                if (drone.weightLimit() >= minWeightLimit)
+                    result.add(drone);
+            }
+        }
+
+        if (models.size() > 1)
+            result.sort(AvailableDrone.BY_BATTERY_AND_CAPACITY);
+        return result;
+    }
+
+}
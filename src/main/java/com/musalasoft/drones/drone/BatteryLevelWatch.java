@@ -0,0 +1,103 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.BatteryLevelResponse;
+import com.musalasoft.drones.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-polled battery level reads. A poll whose level is still current is parked as a {@link DeferredResult} and
+ * answered by the change event of that drone, or with 304 once its wait is over; while parked it holds neither a
+ * request thread nor a database connection, so thousands of status pollers cost memory only.
+ */
+@Component
+public class BatteryLevelWatch {
+
+    private final DroneService droneService;
+    private final DroneLongPollProperties properties;
+    private final Map<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public BatteryLevelWatch(DroneService droneService, DroneLongPollProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.droneService = droneService;
+        this.properties = properties;
+        Gauge.builder("drones.long-poll.waiting", waiting, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public DeferredResult<ResponseEntity<BatteryLevelResponse>> await(String serialNumber, int knownLevel,
+                                                                      Duration wait) {
+
+        if (waiting.incrementAndGet() > properties.getMaxWaiters()) {
+            waiting.decrementAndGet();
+            throw new ServiceUnavailableException("Too many waiting battery level polls, try again later");
+        }
+
+        Duration timeout = wait.compareTo(properties.getMaxWait()) > 0 ? properties.getMaxWait() : wait;
+        Waiter waiter = new Waiter(knownLevel, new DeferredResult<>(Math.max(timeout.toMillis(), 1),
+                () -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+        waiter.result().onCompletion(() -> remove(serialNumber, waiter));
+
+        //Registered before reading the current level, so a change committed in between is not missed
+        waiters.compute(serialNumber, (key, current) -> {
+            Set<Waiter> registered = current == null ? ConcurrentHashMap.newKeySet() : current;
+            registered.add(waiter);
+            return registered;
+        });
+
+        try {
+            waiter.offer(droneService.getDroneBatteryLevel(serialNumber));
+        } catch (RuntimeException ex) {
+            remove(serialNumber, waiter);
+            throw ex;
+        }
+        return waiter.result();
+    }
+
+    //After commit only, a poll is never answered with a level that is rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDroneChanged(DroneChangedEvent event) {
+
+        if (event.batteryCapacity() == null)
+            return;
+
+        Set<Waiter> registered = waiters.get(event.serialNumber());
+        if (registered == null)
+            return;
+
+        BatteryLevelResponse level = new BatteryLevelResponse(event.serialNumber(), event.batteryCapacity());
+        registered.forEach(waiter -> waiter.offer(level));
+    }
+
+    int waitingCount() {
+        return waiting.get();
+    }
+
+    private void remove(String serialNumber, Waiter waiter) {
+        waiters.computeIfPresent(serialNumber, (key, registered) -> {
+            if (registered.remove(waiter))
+                waiting.decrementAndGet();
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    private record Waiter(int knownLevel, DeferredResult<ResponseEntity<BatteryLevelResponse>> result) {
+
+        void offer(BatteryLevelResponse level) {
+            if (level.batteryCapacity() != knownLevel)
+                result.setResult(ResponseEntity.ok(level));
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.musalasoft.drones.drone;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.musalasoft.drones.drone.enums.Model;
 import com.musalasoft.drones.drone.enums.State;
@@ -11,6 +12,7 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -24,7 +26,7 @@ import java.util.Set;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "drone")
+@Table(name = "drone", indexes = @Index(name = "drone_state_idx", columnList = "drone_state"))
 public class Drone {
 
     @Id
@@ -32,6 +34,11 @@ public class Drone {
     @Column(name = "drone_id")
     private Long  droneId;
 
+    @Version
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Long version;
+
 
     //Assuming serial number is unique
     @Column(unique = true, nullable = false)
@@ -47,6 +54,13 @@ public class Drone {
     @Max(500)
     private int weightLimit;
 
+    //Denormalised from the assigned medications, written together with them so capacity reads need no collection
+    @ColumnDefault("0")
+    private int currentPayloadGrams;
+
+    @ColumnDefault("0")
+    private int itemCount;
+
 
     @Max(100)
     private int batteryCapacity;
@@ -59,12 +73,17 @@ public class Drone {
     private LocalDateTime registeredAt;
 
 
+    //Assignment is written by MedicationService.updateMedicationAvailability, the collection is read-only
     @OneToMany
-    @JoinColumn(name = "drone_id")
+    @JoinColumn(name = "drone_id", insertable = false, updatable = false)
     @JsonManagedReference
     @ToString.Exclude
     private Set<Medication> medications;
 
+    public int getRemainingCapacity() {
+        return weightLimit - currentPayloadGrams;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,53 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts a batch of new drones in JDBC batches within one transaction, so the batch is registered whole or not
+ * at all.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DroneBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Transactional
+    public List<Drone> write(List<DroneRequest> requests) {
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+
+        List<Drone> drones = new ArrayList<>(requests.size());
+        for (DroneRequest request : requests) {
+            Drone drone = Drone.builder()
+                    .serialNumber(request.serialNumber())
+                    .model(request.model())
+                    .weightLimit(request.weightLimit())
+                    .batteryCapacity(request.batteryCapacity())
+                    .droneState(request.droneState())
+                    .build();
+            entityManager.persist(drone);
+            drones.add(drone);
+
+            if (drones.size() % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return drones;
+    }
+
+}
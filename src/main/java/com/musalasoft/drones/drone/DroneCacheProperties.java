@@ -0,0 +1,24 @@
+package com.musalasoft.drones.drone;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.cache")
+public class DroneCacheProperties {
+
+    /**
+     * Maximum number of drones kept in memory, least valuable entries are evicted first.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Entries are dropped this long after their last write, bounding staleness from changes made outside this service.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+}
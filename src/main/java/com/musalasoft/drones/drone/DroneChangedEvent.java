@@ -0,0 +1,12 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.enums.State;
+
+import java.time.Instant;
+
+/**
+ * Published whenever a drone's state or properties are written. Listeners that must not see rolled back changes
+ * should use {@code @TransactionalEventListener}. {@code batteryCapacity} is null when the change did not read it.
+ */
+public record DroneChangedEvent(String serialNumber, State droneState, Integer batteryCapacity, Instant changedAt) {
+}
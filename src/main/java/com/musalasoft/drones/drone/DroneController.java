@@ -2,17 +2,29 @@ package com.musalasoft.drones.drone;
 
 
 import com.musalasoft.drones.drone.dtos.BatteryLevelResponse;
+import com.musalasoft.drones.drone.dtos.DroneCapacityResponse;
 import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.DroneStateResponse;
 import com.musalasoft.drones.drone.dtos.DroneUpdateRequest;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.dtos.FleetRegistrationResponse;
+import com.musalasoft.drones.drone.dtos.LoadingPlan;
 import com.musalasoft.drones.drone.dtos.LoadingRequest;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.RegistrationMode;
+import com.musalasoft.drones.drone.enums.Transition;
 import com.musalasoft.drones.medication.Medication;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
@@ -24,24 +36,81 @@ public class DroneController {
 
     private final DroneService droneService;
 
+    private final DroneStateMachine droneStateMachine;
+
+    private final FleetRegistrationService fleetRegistrationService;
+
+    private final BatteryLevelWatch batteryLevelWatch;
+
+    private final ReactiveDroneReads reactiveDroneReads;
+
     @PostMapping("/registration")
-    public ResponseEntity<Drone> register(
+    public ResponseEntity<DroneView> register(
             @RequestBody @Valid DroneRequest request
     ) {
         return new ResponseEntity<>(droneService.createDrone(request), HttpStatus.CREATED);
     }
 
 
+    @PostMapping("/registration/bulk")
+    public ResponseEntity<FleetRegistrationResponse> registerFleet(
+            @RequestBody @Size(max = FleetRegistrationService.MAX_FLEET_SIZE) List<DroneRequest> requests,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") RegistrationMode mode
+    ) {
+        FleetRegistrationResponse response = fleetRegistrationService.registerFleet(requests, mode);
+        return new ResponseEntity<>(response, response.registered() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+    }
+
+
     @PutMapping("/{serialNumber}/loading")
-    public ResponseEntity<Drone> load(
+    public ResponseEntity<DroneView> load(
             @PathVariable @Parameter(example = "DR-25") String serialNumber,
             @RequestBody @Valid LoadingRequest request
     ) {
         return new ResponseEntity<>(droneService.loadDrone(request, serialNumber), HttpStatus.OK);
     }
 
+    @PostMapping("/{serialNumber}/items")
+    public ResponseEntity<DroneCapacityResponse> addItems(
+            @PathVariable @Parameter(example = "DR-25") String serialNumber,
+            @RequestBody @Valid LoadingRequest request
+    ) {
+        return new ResponseEntity<>(droneService.addItems(serialNumber, request), HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{serialNumber}/items")
+    public ResponseEntity<DroneCapacityResponse> removeItems(
+            @PathVariable @Parameter(example = "DR-25") String serialNumber,
+            @RequestParam(name = "medicationCode") @Parameter(example = "MDC_32A") Set<String> medicationCodes
+    ) {
+        return new ResponseEntity<>(droneService.removeItems(serialNumber, medicationCodes), HttpStatus.OK);
+    }
+
+    @PutMapping("/auto-loading")
+    public ResponseEntity<DroneView> autoLoad(
+            @RequestBody @Valid LoadingRequest request
+    ) {
+        return new ResponseEntity<>(droneService.autoAssignDrone(request), HttpStatus.OK);
+    }
+
+    @PutMapping("/bulk-loading")
+    public ResponseEntity<LoadingPlan> bulkLoad(
+            @RequestBody @Valid LoadingRequest request,
+            @RequestParam(defaultValue = "false") boolean commit
+    ) {
+        return new ResponseEntity<>(droneService.planBulkLoading(request, commit), HttpStatus.OK);
+    }
+
+    @PutMapping("/{serialNumber}/transitions/{transition}")
+    public ResponseEntity<DroneStateResponse> transition(
+            @PathVariable @Parameter(example = "DR-25") String serialNumber,
+            @PathVariable @Parameter(example = "START_DELIVERY") Transition transition
+    ) {
+        return new ResponseEntity<>(droneStateMachine.apply(serialNumber, transition), HttpStatus.OK);
+    }
+
     @PutMapping("/{serialNumber}/unloading")
-    public ResponseEntity<Drone> unLoad(
+    public ResponseEntity<DroneView> unLoad(
              @PathVariable @Parameter(example = "DR-25") String serialNumber
     ) {
         return new ResponseEntity<>(droneService.unloadDrone(serialNumber), HttpStatus.OK);
@@ -49,7 +118,7 @@ public class DroneController {
 
 
     @PutMapping("/{serialNumber}")
-    public ResponseEntity<Drone> update(
+    public ResponseEntity<DroneView> update(
             @PathVariable @Parameter(example = "DR-25") String serialNumber,
             @RequestBody @Valid DroneUpdateRequest request
     ) {
@@ -58,25 +127,48 @@ public class DroneController {
 
 
     @GetMapping("/{serialNumber}/medications")
-    public ResponseEntity<Set<Medication>> getDroneMedications(
+    public Mono<ResponseEntity<Set<Medication>>> getDroneMedications(
              @PathVariable @Parameter(example = "DR-25") String serialNumber
     ) {
-        return new ResponseEntity<>(droneService.getDroneMedicationItems(serialNumber), HttpStatus.OK);
+        return reactiveDroneReads.getDroneMedicationItems(serialNumber).map(ResponseEntity::ok);
     }
 
 
     @GetMapping("/available")
-    public ResponseEntity<List<Drone>> getAllAvailableDrones(
+    public Mono<ResponseEntity<List<DroneView>>> getAllAvailableDrones(
+            @RequestParam(required = false) Model model,
+            @RequestParam(defaultValue = "0") @Parameter(example = "25") int minBatteryCapacity,
+            @RequestParam(defaultValue = "0") @Parameter(example = "200") int minWeightLimit,
+            @RequestParam(defaultValue = "0") @Parameter(example = "150") int minRemainingCapacity
     ) {
-        return new ResponseEntity<>(droneService.findAllAvailableDrones(), HttpStatus.OK);
+        return reactiveDroneReads.findAllAvailableDrones(model, minBatteryCapacity, minWeightLimit, minRemainingCapacity)
+                .map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping("/{serialNumber}/capacity")
+    public ResponseEntity<DroneCapacityResponse> getDroneCapacity(
+             @PathVariable @Parameter(example = "DR-25") String serialNumber
+    ) {
+        return new ResponseEntity<>(droneService.getDroneCapacity(serialNumber), HttpStatus.OK);
     }
 
 
     @GetMapping("/{serialNumber}/battery-level")
-    public ResponseEntity<BatteryLevelResponse> getDroneBatteryLevel(
+    public Mono<ResponseEntity<BatteryLevelResponse>> getDroneBatteryLevel(
              @PathVariable @Parameter(example = "DR-25") String serialNumber
     ) {
-        return new ResponseEntity<>(droneService.getDroneBatteryLevel(serialNumber), HttpStatus.OK);
+        return reactiveDroneReads.getDroneBatteryLevel(serialNumber).map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping(value = "/{serialNumber}/battery-level", params = "ifChangedFrom")
+    public DeferredResult<ResponseEntity<BatteryLevelResponse>> awaitDroneBatteryLevel(
+             @PathVariable @Parameter(example = "DR-25") String serialNumber,
+             @RequestParam @Parameter(example = "40") int ifChangedFrom,
+             @RequestParam(defaultValue = "PT25S") @Parameter(example = "PT25S") Duration wait
+    ) {
+        return batteryLevelWatch.await(serialNumber, ifChangedFrom, wait);
     }
 
 
@@ -0,0 +1,24 @@
+package com.musalasoft.drones.drone;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.long-poll")
+public class DroneLongPollProperties {
+
+    /**
+     * Parked battery level polls allowed at the same time, further polls are refused with 503.
+     */
+    private int maxWaiters = 20_000;
+
+    /**
+     * Longest a poll is parked, a client asking for more waits this long and then gets 304.
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+
+}
@@ -1,15 +1,104 @@
 package com.musalasoft.drones.drone;
 
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.drone.dtos.DroneCapacityResponse;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import com.musalasoft.drones.drone.dtos.DroneIdRange;
 import com.musalasoft.drones.drone.enums.State;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface DroneRepository extends JpaRepository<Drone, Long> {
 
     Optional<Drone> findBySerialNumber(String serialNumber);
+    @EntityGraph(attributePaths = "medications")
+    Optional<Drone> findWithMedicationsBySerialNumber(String serialNumber);
     Optional<Drone> findBySerialNumberAndDroneState(String serialNumber, State droneState);
-    List<Drone> findAllByDroneState(State droneState);
+    List<Drone> findAllBySerialNumberInAndDroneState(Collection<String> serialNumbers, State droneState);
+
+    @Query("select d.serialNumber from Drone d where d.serialNumber in :serialNumbers")
+    Set<String> findExistingSerialNumbers(@Param("serialNumbers") Collection<String> serialNumbers);
+
+    @Query("select new com.musalasoft.drones.drone.dtos.AvailableDrone(d.droneId, d.serialNumber, d.model, d.weightLimit, d.batteryCapacity) " +
+            "from Drone d where d.droneState = :droneState")
+    List<AvailableDrone> findAvailableDrones(@Param("droneState") State droneState);
+
+    @Query("select new com.musalasoft.drones.drone.dtos.AvailableDrone(d.droneId, d.serialNumber, d.model, d.weightLimit, d.batteryCapacity) " +
+            "from Drone d where d.serialNumber = :serialNumber")
+    Optional<AvailableDrone> findAvailableDrone(@Param("serialNumber") String serialNumber);
+
+    @Query("select d.droneState from Drone d where d.serialNumber = :serialNumber")
+    Optional<State> findDroneStateBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    /**
+     * Moves the drone from one state to another, only while it is in the expected state and its battery is at least
+     * {@code minBattery}. Returns 0 when either check fails.
+     */
+    @Modifying
+    @Query("update Drone d set d.droneState = :to, d.version = d.version + 1 " +
+            "where d.serialNumber = :serialNumber and d.droneState = :from and d.batteryCapacity >= :minBattery")
+    int updateDroneState(@Param("serialNumber") String serialNumber, @Param("from") State from, @Param("to") State to,
+                         @Param("minBattery") int minBattery);
+
+    @Query("select new com.musalasoft.drones.drone.dtos.DroneCapacityResponse(d.serialNumber, d.weightLimit, d.currentPayloadGrams, d.itemCount) " +
+            "from Drone d where d.serialNumber = :serialNumber")
+    Optional<DroneCapacityResponse> findCapacity(@Param("serialNumber") String serialNumber);
+
+    @Query("select d.droneId from Drone d where d.serialNumber = :serialNumber")
+    Optional<Long> findDroneIdBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    @Query("select d.batteryCapacity from Drone d where d.serialNumber = :serialNumber")
+    Optional<Integer> findBatteryCapacityBySerialNumber(@Param("serialNumber") String serialNumber);
+
+    /**
+     * Moves the payload by a signed weight and item count, only while the drone is in the given state, its battery
+     * is at least {@code minBattery} and the new payload stays within its weight limit. Returns 0 when a check fails.
+     */
+    @Modifying
+    @Query("update Drone d set d.currentPayloadGrams = d.currentPayloadGrams + :weight, " +
+            "d.itemCount = d.itemCount + :items, d.version = d.version + 1 " +
+            "where d.serialNumber = :serialNumber and d.droneState = :state and d.batteryCapacity >= :minBattery " +
+            "and d.currentPayloadGrams + :weight between 0 and d.weightLimit")
+    int adjustPayload(@Param("serialNumber") String serialNumber, @Param("state") State state,
+                      @Param("weight") int weight, @Param("items") int items, @Param("minBattery") int minBattery);
+
+    @Modifying
+    @Query("update Drone d set d.currentPayloadGrams = 0, d.itemCount = 0 where d.serialNumber = :serialNumber")
+    int clearPayload(@Param("serialNumber") String serialNumber);
+
+    @Modifying
+    @Query(value = "update medication set available = true, drone_id = null, version = version + 1 " +
+            "where drone_id = (select d.drone_id from drone d where d.serial_number = :serialNumber)", nativeQuery = true)
+    int releaseMedications(@Param("serialNumber") String serialNumber);
+
+    @Modifying
+    @Query(value = "update medication set drone_id = null, version = version + 1 " +
+            "where drone_id = (select d.drone_id from drone d where d.serial_number = :serialNumber)", nativeQuery = true)
+    int detachMedications(@Param("serialNumber") String serialNumber);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.musalasoft.drones.drone.dtos.DroneBatteryLevel(d.droneId, d.serialNumber, d.batteryCapacity) " +
+            "from Drone d where d.droneId between :fromId and :toId order by d.droneId")
+    Stream<DroneBatteryLevel> streamBatteryLevels(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select new com.musalasoft.drones.drone.dtos.DroneIdRange(min(d.droneId), max(d.droneId)) from Drone d")
+    DroneIdRange findDroneIdRange();
 
 }
\ No newline at end of file
@@ -1,32 +1,60 @@
 package com.musalasoft.drones.drone;
 
 
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
 import com.musalasoft.drones.drone.dtos.BatteryLevelResponse;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import com.musalasoft.drones.drone.dtos.DroneCapacityResponse;
+import com.musalasoft.drones.drone.dtos.DroneIdRange;
+import com.musalasoft.drones.drone.dtos.DroneLoad;
 import com.musalasoft.drones.drone.dtos.DroneRequest;
 import com.musalasoft.drones.drone.dtos.DroneUpdateRequest;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.dtos.LoadingPlan;
 import com.musalasoft.drones.drone.dtos.LoadingRequest;
+import com.musalasoft.drones.drone.enums.Model;
 import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.config.ConflictRetry;
 import com.musalasoft.drones.exceptions.DataNotFoundException;
 import com.musalasoft.drones.exceptions.DuplicateRecordException;
 import com.musalasoft.drones.exceptions.InvalidRequestException;
 import com.musalasoft.drones.medication.Medication;
 import com.musalasoft.drones.medication.MedicationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class DroneService {
 
+    public static final int MIN_LOADING_BATTERY_CAPACITY = 25;
+
+    private static final int MAX_AUTO_ASSIGN_ATTEMPTS = 3;
+
     private final DroneRepository droneRepository;
 
     private final MedicationService medicationService;
 
     private final DroneMapper mapper;
 
-    public Drone createDrone(DroneRequest droneRequest) {
+    private final DroneStateCache droneStateCache;
+
+    private final AvailableDronePool availableDronePool;
+
+    private final LoadingPlanner loadingPlanner;
+
+    private final ConflictRetry conflictRetry;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public DroneView createDrone(DroneRequest droneRequest) {
 
 
 
@@ -38,95 +66,327 @@ public class DroneService {
             throw new DuplicateRecordException("Drone already exists with serial number : " + droneRequest.serialNumber());
         }
 
-        return droneRepository.save(Drone.builder()
+        Drone drone = droneRepository.save(Drone.builder()
                 .serialNumber(droneRequest.serialNumber())
                 .model(droneRequest.model())
                 .weightLimit(droneRequest.weightLimit())
                 .batteryCapacity(droneRequest.batteryCapacity())
                 .droneState(droneRequest.droneState())
                 .build());
+        publishState(drone);
+        return DroneView.of(drone);
+    }
+
+
+    public DroneView loadDrone(LoadingRequest loadingRequest, String serialNumber) {
+        return conflictRetry.execute(status -> {
+
+            Drone drone = findAvailableDroneBySerialNumber(serialNumber);
+
+            checkDroneBatteryCapacity(drone);
+            Set<Medication> medications = findMedicationsToLoad(loadingRequest);
+            return load(drone, medications);
+        });
     }
 
 
-    public Drone loadDrone(LoadingRequest loadingRequest, String serialNumber) {
+    /**
+     * Loads the medications onto the smallest IDLE drone that can carry them and has enough battery, leaving
+     * the bigger drones free. Candidates come from the {@link AvailableDronePool} capacity index; a candidate
+     * that turns out to be stale in the pool is dropped and the next one is tried, a candidate whose load is
+     * rolled back goes back to the pool.
+     */
+    public DroneView autoAssignDrone(LoadingRequest loadingRequest) {
+        return conflictRetry.execute(status -> {
+
+            Set<Medication> medications = findMedicationsToLoad(loadingRequest);
+            int totalWeight = medications.stream().mapToInt(Medication::getWeight).sum();
+
+            for (int attempt = 0; attempt < MAX_AUTO_ASSIGN_ATTEMPTS; attempt++) {
+
+                AvailableDrone candidate = availableDronePool.claimSmallestFitting(totalWeight, MIN_LOADING_BATTERY_CAPACITY)
+                        .orElseThrow(() -> new DataNotFoundException(
+                                String.format("No available drone can carry the requested items : %dg", totalWeight)));
 
-        Drone drone = findAvailableDroneBySerialNumber(serialNumber);
+                Optional<Drone> drone = droneRepository.findBySerialNumberAndDroneState(candidate.serialNumber(), State.IDLE);
+                if (drone.isEmpty())
+                    continue;
 
-        checkDroneBatteryCapacity(drone);
+                AfterCommit.onRollback(() -> availableDronePool.release(candidate));
+                checkDroneBatteryCapacity(drone.get());
+                return load(drone.get(), medications);
+            }
+
+            throw new DataNotFoundException("No available drone could be assigned, try again");
+        });
+    }
+
+
+    /**
+     * Spreads the requested medications across the IDLE drones with enough battery using first-fit-decreasing
+     * packing. With {@code commit} the whole plan is loaded in one transaction, failing if any planned drone
+     * is no longer IDLE.
+     */
+    public LoadingPlan planBulkLoading(LoadingRequest loadingRequest, boolean commit) {
+        return conflictRetry.execute(status -> plan(loadingRequest, commit));
+    }
+
+
+    private LoadingPlan plan(LoadingRequest loadingRequest, boolean commit) {
+
+        Set<Medication> medications = findMedicationsToLoad(loadingRequest);
+        LoadingPlanner.Packing packing = loadingPlanner.pack(medications,
+                availableDronePool.find(null, MIN_LOADING_BATTERY_CAPACITY, 0));
+
+        if (commit && !packing.loads().isEmpty())
+            commitLoads(packing.loads());
+
+        Set<String> unavailableCodes = new TreeSet<>(loadingRequest.medicationCodes());
+        medications.forEach(medication -> unavailableCodes.remove(medication.getCode()));
+
+        return new LoadingPlan(
+                packing.loads().entrySet().stream().map(load -> toDroneLoad(load.getKey(), load.getValue())).toList(),
+                packing.unassigned().stream().map(Medication::getCode).collect(Collectors.toCollection(TreeSet::new)),
+                unavailableCodes,
+                commit);
+    }
+
+
+    private void commitLoads(Map<AvailableDrone, List<Medication>> loads) {
+
+        Map<String, Drone> drones = droneRepository.findAllBySerialNumberInAndDroneState(
+                        loads.keySet().stream().map(AvailableDrone::serialNumber).toList(), State.IDLE).stream()
+                .collect(Collectors.toMap(Drone::getSerialNumber, Function.identity()));
+        if (drones.size() != loads.size())
+            throw new DataNotFoundException("Some of the planned drones are no longer available for loading, plan again");
+
+        //The plan was made from the pool, the battery or weight limit may have changed since
+        loads.forEach((available, medications) -> {
+            Drone drone = drones.get(available.serialNumber());
+            Set<Medication> load = new HashSet<>(medications);
+            checkDroneBatteryCapacity(drone);
+            int weight = checkWeight(drone, load);
+            drone.setMedications(load);
+            drone.setCurrentPayloadGrams(drone.getCurrentPayloadGrams() + weight);
+            drone.setItemCount(drone.getItemCount() + load.size());
+            drone.setDroneState(State.LOADED);
+        });
+
+        List<Drone> saved = droneRepository.saveAll(drones.values());
+        saved.forEach(drone ->
+                medicationService.updateMedicationAvailability(drone.getMedications(), false, drone.getDroneId()));
+        saved.forEach(this::publishState);
+    }
+
+
+    private static DroneLoad toDroneLoad(AvailableDrone drone, List<Medication> medications) {
+        return new DroneLoad(drone.serialNumber(), drone.weightLimit(),
+                medications.stream().mapToInt(Medication::getWeight).sum(),
+                medications.stream().map(Medication::getCode).collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+
+    private Set<Medication> findMedicationsToLoad(LoadingRequest loadingRequest) {
         Set<Medication> medications = medicationService.findAllAvailableByCodes(loadingRequest.medicationCodes());
         if (medications.isEmpty())
             throw new DataNotFoundException("Requested medications not found or has already been loaded");
+        return medications;
+    }
+
 
+    private DroneView load(Drone drone, Set<Medication> medications) {
+
+        int weight = checkWeight(drone, medications);
 
         drone.setMedications(medications);
+        drone.setCurrentPayloadGrams(drone.getCurrentPayloadGrams() + weight);
+        drone.setItemCount(drone.getItemCount() + medications.size());
         drone.setDroneState(State.LOADED);
 
-        checkWeight(drone, medications);
+        drone = droneRepository.save(drone);
+        medicationService.updateMedicationAvailability(medications, false, drone.getDroneId());
+        publishState(drone);
+        return DroneView.of(drone);
+    }
+
 
+    /**
+     * Adds medications to a drone that is LOADING, without touching what is already on board. The payload is moved
+     * by one conditional UPDATE that checks the state and remaining capacity in the database, then the medication
+     * rows are assigned by one conditional UPDATE. Losing either to a concurrent writer rolls back and retries.
+     */
+    public DroneCapacityResponse addItems(String serialNumber, LoadingRequest loadingRequest) {
+        return conflictRetry.execute(status -> {
+
+            Set<Medication> medications = findMedicationsToLoad(loadingRequest);
+            int weight = medications.stream().mapToInt(Medication::getWeight).sum();
+            //The battery can drain while a drone is LOADING, items are only added while it could still be loaded
+            if (droneRepository.adjustPayload(serialNumber, State.LOADING, weight, medications.size(),
+                    MIN_LOADING_BATTERY_CAPACITY) == 0)
+                throw payloadRejected(serialNumber, weight);
+
+            medicationService.updateMedicationAvailability(medications, false, findDroneId(serialNumber));
+            return itemsChanged(serialNumber);
+        });
+    }
 
-        drone = droneRepository.save(drone);
-        medicationService.updateMedicationAvailability(medications, false);
-        return drone;
+
+    /**
+     * Takes medications off a drone that is LOADING and makes them available again, the counterpart of
+     * {@link #addItems}.
+     */
+    public DroneCapacityResponse removeItems(String serialNumber, Set<String> medicationCodes) {
+        return conflictRetry.execute(status -> {
+
+            Set<Medication> medications = medicationService.findLoadedByCodes(medicationCodes, serialNumber);
+            if (medications.isEmpty())
+                throw new DataNotFoundException("Requested medications are not loaded on drone : " + serialNumber);
+            int weight = medications.stream().mapToInt(Medication::getWeight).sum();
+            if (droneRepository.adjustPayload(serialNumber, State.LOADING, -weight, -medications.size(), 0) == 0)
+                throw payloadRejected(serialNumber, -weight);
+
+            medicationService.releaseFromDrone(medications, findDroneId(serialNumber));
+            return itemsChanged(serialNumber);
+        });
+    }
+
+
+    private DroneCapacityResponse itemsChanged(String serialNumber) {
+        DroneCapacityResponse capacity = getDroneCapacity(serialNumber);
+        droneStateCache.invalidate(serialNumber);
+        applicationEventPublisher.publishEvent(
+                new DroneChangedEvent(serialNumber, State.LOADING, null, Instant.now()));
+        return capacity;
     }
 
 
-    public Drone unloadDrone(String serialNumber){
-        Drone drone = findDroneBySerialNumber(serialNumber);
-        Set<Medication> medications = drone.getMedications();
+    private RuntimeException payloadRejected(String serialNumber, int weight) {
+        State state = droneRepository.findDroneStateBySerialNumber(serialNumber)
+                .orElseThrow(() -> new DataNotFoundException("Drone not found with serial number : " + serialNumber));
+        if (state != State.LOADING)
+            return new InvalidRequestException(String.format(
+                    "Drone %s is %s, items can only be added or removed while it is LOADING", serialNumber, state));
+        if (weight > 0 && droneRepository.findBatteryCapacityBySerialNumber(serialNumber)
+                .filter(battery -> battery < MIN_LOADING_BATTERY_CAPACITY).isPresent())
+            return batteryTooLow();
+        return new InvalidRequestException(String.format(
+                "Total medication weight of requested items : %dg exceeds drone remaining capacity : %dg",
+                weight, getDroneCapacity(serialNumber).remainingCapacity()));
+    }
+
+
+    public DroneView unloadDrone(String serialNumber){
+        return conflictRetry.execute(status -> {
+            Drone drone = findDroneBySerialNumber(serialNumber);
+            List<Medication> medications = Objects.isNull(drone.getMedications())
+                    ? List.of() : new ArrayList<>(drone.getMedications());
+
+            drone.setMedications(Collections.emptySet());
+            drone.setCurrentPayloadGrams(0);
+            drone.setItemCount(0);
+            drone.setDroneState(State.IDLE);
+            drone = droneRepository.save(drone);
+
+            if (!medications.isEmpty())
+                medicationService.updateMedicationAvailability(medications, true, null);
+            publishState(drone);
+            return DroneView.of(drone);
+        });
+    }
 
-        if(Objects.nonNull(medications))
-            medicationService.updateMedicationAvailability(medications, true);
 
-        drone.setMedications(Collections.emptySet());
-        drone.setDroneState(State.IDLE);
-        return droneRepository.save(drone);
+    public DroneView updateDroneProperties(String serialNumber, DroneUpdateRequest updateRequest){
+        return conflictRetry.execute(status -> {
+            Drone drone = findDroneBySerialNumber(serialNumber);
+            mapper.update(updateRequest, drone);
+            if (drone.getRemainingCapacity() < 0)
+                throw new InvalidRequestException(String.format(
+                        "Weight limit : %dg is below the drone current payload : %dg, unload it first",
+                        drone.getWeightLimit(), drone.getCurrentPayloadGrams()));
+            drone = droneRepository.save(drone);
+            publishState(drone);
+            return DroneView.of(drone);
+        });
     }
 
 
-    public Drone updateDroneProperties(String serialNumber, DroneUpdateRequest updateRequest){
-        Drone drone = findDroneBySerialNumber(serialNumber);
-        mapper.update(updateRequest, drone);
-        return droneRepository.save(drone);
+    private void publishState(Drone drone) {
+        droneStateCache.put(drone);
+        availableDronePool.update(drone);
+        applicationEventPublisher.publishEvent(new DroneChangedEvent(drone.getSerialNumber(), drone.getDroneState(),
+                drone.getBatteryCapacity(), Instant.now()));
     }
 
 
     private void checkDroneBatteryCapacity(Drone drone) {
-        if (drone.getBatteryCapacity() < 25)
-            throw new InvalidRequestException("The selected drone battery level is below 25%, select another drone");
+        if (drone.getBatteryCapacity() < MIN_LOADING_BATTERY_CAPACITY)
+            throw batteryTooLow();
     }
 
+    static InvalidRequestException batteryTooLow() {
+        return new InvalidRequestException("The selected drone battery level is below 25%, select another drone");
+    }
 
-    public void checkWeight(Drone drone, Set<Medication> medications) {
+
+    /**
+     * Checks the requested medications against the drone's remaining capacity and returns their total weight.
+     * The weight already on board comes from the drone's payload column, its medications are never loaded.
+     */
+    public int checkWeight(Drone drone, Set<Medication> medications) {
 
         int totalWeight = medications.stream().mapToInt(Medication::getWeight).sum();
-        if (totalWeight > drone.getWeightLimit())
+        if (totalWeight > drone.getRemainingCapacity())
             throw new InvalidRequestException(
-                    String.format("Total medication weight of requested items : %dg exceeds drone weight limit : %dg",
-                            totalWeight, drone.getWeightLimit())
+                    String.format("Total medication weight of requested items : %dg exceeds drone remaining capacity : %dg",
+                            totalWeight, drone.getRemainingCapacity())
             );
-
+        return totalWeight;
     }
 
-    public Set<Medication> getDroneMedicationItems(String serialNumber) {
-        Drone drone = findDroneBySerialNumber(serialNumber);
-        return drone.getMedications();
-    }
+    public Drone findAvailableDroneBySerialNumber(String serialNumber) {
 
+        //A cached drone that is not idle cannot be loaded, no need to ask the database
+        Optional<DroneSnapshot> cached = droneStateCache.getIfPresent(serialNumber);
+        if (cached.isPresent() && cached.get().droneState() != State.IDLE)
+            throw droneNotAvailable(serialNumber);
 
-    public Drone findAvailableDroneBySerialNumber(String serialNumber) {
         return droneRepository.findBySerialNumberAndDroneState(serialNumber, State.IDLE)
-                .orElseThrow(() -> new DataNotFoundException(
-                        "Drone not available for loading or does not exist, with serial number : " + serialNumber));
+                .orElseThrow(() -> droneNotAvailable(serialNumber));
+    }
+
+    private DataNotFoundException droneNotAvailable(String serialNumber) {
+        return new DataNotFoundException(
+                "Drone not available for loading or does not exist, with serial number : " + serialNumber);
     }
 
-    public List<Drone> findAllAvailableDrones() {
-        return droneRepository.findAllByDroneState(State.IDLE);
+    /**
+     * Served from the {@link AvailableDronePool} without touching the database, however many drones match. IDLE
+     * drones carry nothing, so their remaining capacity is their weight limit.
+     */
+    public List<DroneView> findAllAvailableDrones(Model model, int minBatteryCapacity, int minWeightLimit,
+                                                  int minRemainingCapacity) {
+        return availableDronePool.find(model, minBatteryCapacity, Math.max(minWeightLimit, minRemainingCapacity)).stream()
+                .map(AvailableDrone::toView)
+                .toList();
     }
 
     public List<Drone> findAllDrones() {
         return droneRepository.findAll();
     }
 
+    /**
+     * Forward-only stream of battery readings for drone ids in [fromId, toId] that never loads {@link Drone} entities.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    public Stream<DroneBatteryLevel> streamBatteryLevels(long fromId, long toId) {
+        return droneRepository.streamBatteryLevels(fromId, toId);
+    }
+
+    public Optional<DroneIdRange> findDroneIdRange() {
+        return Optional.ofNullable(droneRepository.findDroneIdRange())
+                .filter(range -> range.minId() != null);
+    }
+
 
     public Drone findDroneBySerialNumber(String serialNumber) {
         return droneRepository.findBySerialNumber(serialNumber)
@@ -134,9 +394,37 @@ public class DroneService {
     }
 
 
+    private DroneSnapshot findDroneSnapshot(String serialNumber) {
+        return droneStateCache.get(serialNumber, () -> droneRepository.findWithMedicationsBySerialNumber(serialNumber)
+                .orElseThrow(() -> new DataNotFoundException("Drone not found with serial number : " + serialNumber)));
+    }
+
+
+    /**
+     * Ids never change, so a cached drone answers directly. A miss reads only the id through the serial number
+     * index and leaves the cache alone, rather than loading the drone and its medications.
+     */
+    public Long findDroneId(String serialNumber) {
+        return droneStateCache.getIfPresent(serialNumber)
+                .map(DroneSnapshot::droneId)
+                .orElseGet(() -> droneRepository.findDroneIdBySerialNumber(serialNumber)
+                        .orElseThrow(() -> new DataNotFoundException(
+                                "Drone not found with serial number : " + serialNumber)));
+    }
+
+
+    /**
+     * Reads the payload columns through the serial number index, without fetching the drone's medications.
+     */
+    public DroneCapacityResponse getDroneCapacity(String serialNumber) {
+        return droneRepository.findCapacity(serialNumber)
+                .orElseThrow(() -> new DataNotFoundException("Drone not found with serial number : " + serialNumber));
+    }
+
+
     public BatteryLevelResponse getDroneBatteryLevel(String serialNumber) {
-        Drone drone = findDroneBySerialNumber(serialNumber);
-        return new BatteryLevelResponse(serialNumber, drone.getBatteryCapacity());
+        DroneSnapshot drone = findDroneSnapshot(serialNumber);
+        return new BatteryLevelResponse(serialNumber, drone.batteryCapacity());
     }
 
 
@@ -0,0 +1,21 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.medication.Medication;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable copy of a drone's state, safe to share between requests without a persistence context.
+ */
+record DroneSnapshot(Long droneId, String serialNumber, Model model, int weightLimit, int batteryCapacity,
+                     State droneState, Set<Medication> medications) {
+
+    static DroneSnapshot of(Drone drone) {
+        return new DroneSnapshot(drone.getDroneId(), drone.getSerialNumber(), drone.getModel(), drone.getWeightLimit(),
+                drone.getBatteryCapacity(), drone.getDroneState(),
+                Objects.isNull(drone.getMedications()) ? null : Set.copyOf(drone.getMedications()));
+    }
+}
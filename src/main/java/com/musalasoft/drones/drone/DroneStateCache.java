@@ -0,0 +1,91 @@
+package com.musalasoft.drones.drone;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory view of drone state keyed by serial number, kept current by write-through from {@link DroneService}.
+ * Writes made inside a transaction only reach the cache once it commits.
+ */
+@Component
+public class DroneStateCache {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final Cache<String, DroneSnapshot> cache;
+
+    //Bumped before every write to an entry, so a fill read outside the loader can tell a write may have passed it
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public DroneStateCache(DroneCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "drones");
+    }
+
+    DroneSnapshot get(String serialNumber, Supplier<Drone> loader) {
+        return cache.get(serialNumber, key -> DroneSnapshot.of(loader.get()));
+    }
+
+    Optional<DroneSnapshot> getIfPresent(String serialNumber) {
+        return Optional.ofNullable(cache.getIfPresent(serialNumber));
+    }
+
+    /**
+     * Taken before reading a drone that is then offered to {@link #fill}.
+     */
+    long version(String serialNumber) {
+        return versions.get(stripe(serialNumber));
+    }
+
+    /**
+     * Caches a snapshot read without the loader, unless the drone is already cached or a write to its stripe
+     * happened since {@code version} was taken, in which case the read may predate that write.
+     */
+    void fill(DroneSnapshot snapshot, long version) {
+        cache.asMap().compute(snapshot.serialNumber(), (serialNumber, current) -> current != null ? current
+                : versions.get(stripe(serialNumber)) == version ? snapshot : null);
+    }
+
+    void invalidate(String serialNumber) {
+        evict(serialNumber);
+        AfterCommit.run(() -> evict(serialNumber));
+    }
+
+    void put(Drone drone) {
+
+        String serialNumber = drone.getSerialNumber();
+        if (drone.getMedications() != null && !Hibernate.isInitialized(drone.getMedications())) {
+            AfterCommit.run(() -> evict(serialNumber));
+            return;
+        }
+
+        DroneSnapshot snapshot = DroneSnapshot.of(drone);
+        evict(serialNumber);
+        AfterCommit.run(() -> {
+            versions.incrementAndGet(stripe(serialNumber));
+            cache.put(serialNumber, snapshot);
+        });
+    }
+
+    private void evict(String serialNumber) {
+        versions.incrementAndGet(stripe(serialNumber));
+        cache.invalidate(serialNumber);
+    }
+
+    private static int stripe(String serialNumber) {
+        return Math.floorMod(serialNumber.hashCode(), VERSION_STRIPES);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.DroneStateResponse;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.drone.enums.Transition;
+import com.musalasoft.drones.exceptions.DataNotFoundException;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Applies lifecycle transitions as a single conditional UPDATE on the expected current state, so the drone is never
+ * loaded and concurrent dispatchers cannot both win the same move. The drone state cache entry is dropped right
+ * away and again once the transition commits, so a read in between cannot leave the old state cached. The available
+ * drone pool is only updated after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class DroneStateMachine {
+
+    private final DroneRepository droneRepository;
+
+    private final DroneStateCache droneStateCache;
+
+    private final AvailableDronePool availableDronePool;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Transactional
+    public DroneStateResponse apply(String serialNumber, Transition transition) {
+
+        if (droneRepository.updateDroneState(serialNumber, transition.getFrom(), transition.getTo(),
+                minBatteryCapacity(transition)) == 0)
+            throw rejected(serialNumber, transition);
+
+        //Delivered medications leave the drone but stay unavailable
+        if (transition == Transition.COMPLETE_DELIVERY) {
+            droneRepository.detachMedications(serialNumber);
+            droneRepository.clearPayload(serialNumber);
+        }
+        //Items added while loading go back on the shelf
+        if (transition == Transition.CANCEL_LOADING) {
+            droneRepository.releaseMedications(serialNumber);
+            droneRepository.clearPayload(serialNumber);
+        }
+
+        droneStateCache.invalidate(serialNumber);
+        if (transition.getTo() == State.IDLE)
+            droneRepository.findAvailableDrone(serialNumber).ifPresent(availableDronePool::put);
+        else
+            availableDronePool.remove(serialNumber);
+
+        applicationEventPublisher.publishEvent(
+                new DroneChangedEvent(serialNumber, transition.getTo(), null, Instant.now()));
+        return new DroneStateResponse(serialNumber, transition.getFrom(), transition.getTo());
+    }
+
+    //Same battery floor as loading through DroneService, a drone too weak to load can neither start nor finish
+    //loading, its battery may have drained while items were added
+    private static int minBatteryCapacity(Transition transition) {
+        return transition == Transition.START_LOADING || transition == Transition.FINISH_LOADING
+                ? DroneService.MIN_LOADING_BATTERY_CAPACITY : 0;
+    }
+
+    private RuntimeException rejected(String serialNumber, Transition transition) {
+        return droneRepository.findDroneStateBySerialNumber(serialNumber)
+                .<RuntimeException>map(current -> current == transition.getFrom()
+                        ? DroneService.batteryTooLow()
+                        : new InvalidRequestException(String.format("Drone %s cannot %s while %s, it must be %s",
+                                serialNumber, transition, current, transition.getFrom())))
+                .orElseGet(() -> new DataNotFoundException("Drone not found with serial number : " + serialNumber));
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.config.BatchRegistration;
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.FleetRegistrationResponse;
+import com.musalasoft.drones.drone.dtos.RejectedDrone;
+import com.musalasoft.drones.drone.enums.RegistrationMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Registers a fleet of drones in one go: every request is validated, duplicates are resolved with a single
+ * serial number lookup, and the accepted drones are inserted in JDBC batches in one transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FleetRegistrationService {
+
+    //Every entry is held in memory until the batch is written
+    public static final int MAX_FLEET_SIZE = 5_000;
+
+    private final DroneRepository droneRepository;
+
+    private final DroneBatchWriter droneBatchWriter;
+
+    private final DroneStateCache droneStateCache;
+
+    private final AvailableDronePool availableDronePool;
+
+    private final BatchRegistration batchRegistration;
+
+    public FleetRegistrationResponse registerFleet(List<DroneRequest> requests, RegistrationMode mode) {
+
+        List<RejectedDrone> rejections = new ArrayList<>();
+        Map<Integer, DroneRequest> valid = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            DroneRequest request = requests.get(index);
+            String error = batchRegistration.violations(request);
+            if (error != null)
+                rejections.add(new RejectedDrone(index, request == null ? null : request.serialNumber(), error));
+            else
+                valid.put(index, request);
+        }
+
+        List<Drone> registered;
+        try {
+            registered = register(valid, mode, rejections);
+        } catch (DataIntegrityViolationException ex) {
+            //A concurrent registration took one of the serial numbers after the lookup, the constraint caught it
+            log.warn("Fleet registration collided with a concurrent registration, checking duplicates again");
+            rejections.removeIf(rejection -> valid.containsKey(rejection.index()));
+            registered = register(valid, mode, rejections);
+        }
+
+        registered.forEach(drone -> {
+            droneStateCache.put(drone);
+            availableDronePool.update(drone);
+        });
+
+        rejections.sort(Comparator.comparingInt(RejectedDrone::index));
+        log.info("Fleet registration finished in {} mode, {} registered and {} rejected",
+                mode, registered.size(), rejections.size());
+        return new FleetRegistrationResponse(registered.size(), rejections.size(), rejections);
+    }
+
+    private List<Drone> register(Map<Integer, DroneRequest> valid, RegistrationMode mode, List<RejectedDrone> rejections) {
+
+        Set<String> existing = valid.isEmpty() ? Set.of() : droneRepository.findExistingSerialNumbers(
+                valid.values().stream().map(DroneRequest::serialNumber).collect(Collectors.toSet()));
+
+        Set<String> seen = new HashSet<>();
+        List<DroneRequest> accepted = new ArrayList<>(valid.size());
+        valid.forEach((index, request) -> {
+            String serialNumber = request.serialNumber();
+            if (existing.contains(serialNumber))
+                rejections.add(new RejectedDrone(index, serialNumber, "Drone already exists with this serial number"));
+            else if (!seen.add(serialNumber))
+                rejections.add(new RejectedDrone(index, serialNumber, "Serial number repeated earlier in the batch"));
+            else
+                accepted.add(request);
+        });
+
+        if (accepted.isEmpty() || (mode == RegistrationMode.ALL_OR_NOTHING && !rejections.isEmpty()))
+            return List.of();
+        return droneBatchWriter.write(accepted);
+    }
+
+}
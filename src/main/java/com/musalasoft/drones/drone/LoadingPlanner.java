@@ -0,0 +1,85 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.medication.Medication;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * First-fit-decreasing bin packing of medications onto drones. Items are placed heaviest first into the first drone,
+ * largest weight limit first, that still has room, so as few drones as possible are dispatched. The first drone with
+ * room is found through a max tree over remaining capacities, O(log drones) per item.
+ */
+@Component
+public class LoadingPlanner {
+
+    private static final Comparator<AvailableDrone> LARGEST_FIRST =
+            Comparator.comparingInt(AvailableDrone::weightLimit).reversed()
+                    .thenComparing(Comparator.comparingInt(AvailableDrone::batteryCapacity).reversed())
+                    .thenComparing(AvailableDrone::droneId);
+
+    record Packing(Map<AvailableDrone, List<Medication>> loads, List<Medication> unassigned) {
+    }
+
+    Packing pack(Collection<Medication> medications, Collection<AvailableDrone> drones) {
+
+        List<AvailableDrone> bins = drones.stream().sorted(LARGEST_FIRST).toList();
+        List<Medication> items = medications.stream()
+                .sorted(Comparator.comparingInt(Medication::getWeight).reversed())
+                .toList();
+
+        RemainingCapacity remaining = new RemainingCapacity(bins.stream().mapToInt(AvailableDrone::weightLimit).toArray());
+        Map<AvailableDrone, List<Medication>> loads = new LinkedHashMap<>();
+        List<Medication> unassigned = new ArrayList<>();
+
+        for (Medication item : items) {
+            int bin = remaining.firstFit(item.getWeight());
+            if (bin < 0) {
+                unassigned.add(item);
+                continue;
+            }
+            remaining.consume(bin, item.getWeight());
+            loads.computeIfAbsent(bins.get(bin), drone -> new ArrayList<>()).add(item);
+        }
+        return new Packing(loads, unassigned);
+    }
+
+
+    /**
+     * Segment tree holding the largest remaining capacity of each subtree, leaves in bin order.
+     */
+    private static final class RemainingCapacity {
+
+        private final int leaves;
+        private final int[] tree;
+
+        RemainingCapacity(int[] capacities) {
+            int size = 1;
+            while (size < capacities.length)
+                size <<= 1;
+            leaves = size;
+            tree = new int[2 * size];
+            Arrays.fill(tree, size, 2 * size, -1);
+            System.arraycopy(capacities, 0, tree, size, capacities.length);
+            for (int node = size - 1; node > 0; node--)
+                tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+
+        int firstFit(int weight) {
+            if (tree[1] < weight)
+                return -1;
+            int node = 1;
+            while (node < leaves)
+                node = tree[2 * node] >= weight ? 2 * node : 2 * node + 1;
+            return node - leaves;
+        }
+
+        void consume(int bin, int weight) {
+            int node = bin + leaves;
+            tree[node] -= weight;
+            for (node >>= 1; node > 0; node >>= 1)
+                tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.config.ReactiveDatabase;
+import com.musalasoft.drones.drone.dtos.BatteryLevelResponse;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.exceptions.DataNotFoundException;
+import com.musalasoft.drones.medication.Medication;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Non-blocking versions of the drone status reads used for high fan-out polling. Cached drones and the available
+ * drone pool answer at once. A cache miss reads the drone and its medications through R2DBC and fills the cache,
+ * like the read-through in {@link DroneService}, so a polled drone costs one query until its next write. The
+ * embedded H2 driver runs the query on the subscribing thread, so misses are subscribed on the bounded elastic
+ * scheduler and never hold a request thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveDroneReads {
+
+    //One row per medication, or a single row with null medication columns for a drone that carries nothing
+    private static final String SNAPSHOT = """
+            select d.drone_id, d.serial_number, d.model, d.weight_limit, d.battery_capacity, d.drone_state,
+                   m.medication_id, m.medication_name, m.weight, m.available, m.code, m.image_url
+            from drone d left join medication m on m.drone_id = d.drone_id
+            where d.serial_number = :serialNumber
+            """;
+
+    private final DroneStateCache droneStateCache;
+
+    private final DroneService droneService;
+
+    private final ReactiveDatabase reactiveDatabase;
+
+    public Mono<BatteryLevelResponse> getDroneBatteryLevel(String serialNumber) {
+        return findDroneSnapshot(serialNumber)
+                .map(drone -> new BatteryLevelResponse(serialNumber, drone.batteryCapacity()));
+    }
+
+    public Mono<Set<Medication>> getDroneMedicationItems(String serialNumber) {
+        return findDroneSnapshot(serialNumber)
+                .map(drone -> Objects.requireNonNullElse(drone.medications(), Set.of()));
+    }
+
+    //Served from the in-memory pool, there is nothing to wait on
+    public Mono<List<DroneView>> findAllAvailableDrones(Model model, int minBatteryCapacity, int minWeightLimit,
+                                                        int minRemainingCapacity) {
+        return Mono.fromSupplier(() -> droneService.findAllAvailableDrones(
+                model, minBatteryCapacity, minWeightLimit, minRemainingCapacity));
+    }
+
+    private Mono<DroneSnapshot> findDroneSnapshot(String serialNumber) {
+
+        Optional<DroneSnapshot> cached = droneStateCache.getIfPresent(serialNumber);
+        if (cached.isPresent())
+            return Mono.just(cached.get());
+
+        return Mono.defer(() -> {
+                    long version = droneStateCache.version(serialNumber);
+                    return reactiveDatabase.client().sql(SNAPSHOT)
+                            .bind("serialNumber", serialNumber)
+                            .map(SnapshotRow::of)
+                            .all()
+                            .collectList()
+                            .flatMap(rows -> rows.isEmpty()
+                                    ? Mono.error(droneNotFound(serialNumber))
+                                    : Mono.just(SnapshotRow.toSnapshot(rows)))
+                            .doOnNext(snapshot -> droneStateCache.fill(snapshot, version));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static DataNotFoundException droneNotFound(String serialNumber) {
+        return new DataNotFoundException("Drone not found with serial number : " + serialNumber);
+    }
+
+    private record SnapshotRow(Long droneId, String serialNumber, Model model, int weightLimit, int batteryCapacity,
+                               State droneState, Medication medication) {
+
+        static SnapshotRow of(Readable row) {
+            Long medicationId = row.get("medication_id", Long.class);
+            return new SnapshotRow(row.get("drone_id", Long.class), row.get("serial_number", String.class),
+                    Model.valueOf(row.get("model", String.class)), row.get("weight_limit", Integer.class),
+                    row.get("battery_capacity", Integer.class), State.valueOf(row.get("drone_state", String.class)),
+                    medicationId == null ? null : Medication.builder()
+                            .medicationId(medicationId)
+                            .name(row.get("medication_name", String.class))
+                            .weight(row.get("weight", Integer.class))
+                            .available(Boolean.TRUE.equals(row.get("available", Boolean.class)))
+                            .code(row.get("code", String.class))
+                            .imageUrl(row.get("image_url", String.class))
+                            .build());
+        }
+
+        static DroneSnapshot toSnapshot(List<SnapshotRow> rows) {
+            SnapshotRow drone = rows.get(0);
+            return new DroneSnapshot(drone.droneId(), drone.serialNumber(), drone.model(), drone.weightLimit(),
+                    drone.batteryCapacity(), drone.droneState(), Set.copyOf(rows.stream()
+                    .map(SnapshotRow::medication)
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.musalasoft.drones.drone.dtos;
+
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record AvailableDrone(Long droneId, String serialNumber, Model model, int weightLimit, int batteryCapacity) {
+
+    /**
+     * Fullest battery first, then the most remaining weight capacity.
+     */
+    public static final Comparator<AvailableDrone> BY_BATTERY_AND_CAPACITY =
+            Comparator.comparingInt(AvailableDrone::batteryCapacity).reversed()
+                    .thenComparing(Comparator.comparingInt(AvailableDrone::weightLimit).reversed())
+                    .thenComparing(AvailableDrone::droneId);
+
+    /**
+     * Smallest weight limit first, then the fullest battery.
+     */
+    public static final Comparator<AvailableDrone> BY_CAPACITY_AND_BATTERY =
+            Comparator.comparingInt(AvailableDrone::weightLimit)
+                    .thenComparing(Comparator.comparingInt(AvailableDrone::batteryCapacity).reversed())
+                    .thenComparing(AvailableDrone::droneId);
+
+    /**
+     * Available drones are IDLE, and an IDLE drone never carries medications.
+     */
+    public DroneView toView() {
+        return new DroneView(droneId, serialNumber, model, weightLimit, 0, 0, weightLimit, batteryCapacity, State.IDLE,
+                null, List.of());
+    }
+}
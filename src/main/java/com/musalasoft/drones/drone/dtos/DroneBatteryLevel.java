@@ -0,0 +1,4 @@
+package com.musalasoft.drones.drone.dtos;
+
+public record DroneBatteryLevel(Long droneId, String serialNumber, int batteryCapacity) {
+}
@@ -0,0 +1,9 @@
+package com.musalasoft.drones.drone.dtos;
+
+public record DroneCapacityResponse(String droneSerialNumber, int weightLimit, int currentPayloadGrams, int itemCount,
+                                    int remainingCapacity) {
+
+    public DroneCapacityResponse(String droneSerialNumber, int weightLimit, int currentPayloadGrams, int itemCount) {
+        this(droneSerialNumber, weightLimit, currentPayloadGrams, itemCount, weightLimit - currentPayloadGrams);
+    }
+}
@@ -0,0 +1,24 @@
+package com.musalasoft.drones.drone.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record DroneIdRange(Long minId, Long maxId) {
+
+    /**
+     * Splits the range into at most {@code parts} contiguous, non-overlapping shards.
+     */
+    public List<DroneIdRange> split(int parts) {
+
+        if (parts < 1)
+            throw new IllegalArgumentException("Parts must be at least 1, found : " + parts);
+        long width = maxId - minId + 1;
+        long shardWidth = Math.max(1, (width + parts - 1) / parts);
+
+        List<DroneIdRange> shards = new ArrayList<>(parts);
+        for (long from = minId; from <= maxId; from += shardWidth) {
+            shards.add(new DroneIdRange(from, Math.min(maxId, from + shardWidth - 1)));
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,6 @@
+package com.musalasoft.drones.drone.dtos;
+
+import java.util.Set;
+
+public record DroneLoad(String serialNumber, int weightLimit, int totalWeight, Set<String> medicationCodes) {
+}
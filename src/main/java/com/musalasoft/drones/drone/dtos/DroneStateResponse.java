@@ -0,0 +1,6 @@
+package com.musalasoft.drones.drone.dtos;
+
+import com.musalasoft.drones.drone.enums.State;
+
+public record DroneStateResponse(String serialNumber, State previousState, State droneState) {
+}
@@ -0,0 +1,30 @@
+package com.musalasoft.drones.drone.dtos;
+
+import com.musalasoft.drones.drone.Drone;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.medication.dtos.MedicationSummary;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read model returned instead of the {@link Drone} entity. It is built inside the transaction that loaded the
+ * drone, so serialising it never touches a lazy collection or needs an open session.
+ */
+public record DroneView(Long droneId, String serialNumber, Model model, int weightLimit, int currentPayloadGrams,
+                        int itemCount, int remainingCapacity, int batteryCapacity, State droneState,
+                        LocalDateTime registeredAt, List<MedicationSummary> medications) {
+
+    public static DroneView of(Drone drone) {
+        return new DroneView(drone.getDroneId(), drone.getSerialNumber(), drone.getModel(), drone.getWeightLimit(),
+                drone.getCurrentPayloadGrams(), drone.getItemCount(), drone.getRemainingCapacity(),
+                drone.getBatteryCapacity(), drone.getDroneState(), drone.getRegisteredAt(),
+                Objects.isNull(drone.getMedications()) ? List.of() : drone.getMedications().stream()
+                        .map(MedicationSummary::of)
+                        .sorted(Comparator.comparing(MedicationSummary::code))
+                        .toList());
+    }
+}
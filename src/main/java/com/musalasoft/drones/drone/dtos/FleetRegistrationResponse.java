@@ -0,0 +1,6 @@
+package com.musalasoft.drones.drone.dtos;
+
+import java.util.List;
+
+public record FleetRegistrationResponse(int registered, int rejected, List<RejectedDrone> rejections) {
+}
@@ -0,0 +1,16 @@
+package com.musalasoft.drones.drone.dtos;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Medications spread across IDLE drones. Codes that are unknown or already loaded are reported as unavailable,
+ * codes that fit on no drone as unassigned.
+ */
+public record LoadingPlan(
+        List<DroneLoad> loads,
+        Set<String> unassignedCodes,
+        Set<String> unavailableCodes,
+        boolean committed
+) {
+}
@@ -0,0 +1,7 @@
+package com.musalasoft.drones.drone.dtos;
+
+/**
+ * A drone left out of a fleet registration, {@code index} being its position in the request.
+ */
+public record RejectedDrone(int index, String serialNumber, String reason) {
+}
@@ -0,0 +1,15 @@
+package com.musalasoft.drones.drone.enums;
+
+public enum RegistrationMode {
+
+    /**
+     * Register the whole batch or, if any drone is rejected, none of it.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Register every acceptable drone and report the rest.
+     */
+    PARTIAL
+
+}
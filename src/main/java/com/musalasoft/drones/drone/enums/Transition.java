@@ -0,0 +1,25 @@
+package com.musalasoft.drones.drone.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lifecycle moves that are not covered by loading and unloading, each allowed from exactly one state.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Transition {
+
+    START_LOADING(State.IDLE, State.LOADING),
+    CANCEL_LOADING(State.LOADING, State.IDLE),
+    FINISH_LOADING(State.LOADING, State.LOADED),
+    START_DELIVERY(State.LOADED, State.DELIVERING),
+    COMPLETE_DELIVERY(State.DELIVERING, State.DELIVERED),
+    START_RETURN(State.DELIVERED, State.RETURNING),
+    COMPLETE_RETURN(State.RETURNING, State.IDLE);
+
+    private final State from;
+
+    private final State to;
+
+}
@@ -0,0 +1,20 @@
+package com.musalasoft.drones.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Republishes alerts as application events, so in-process listeners only need an {@code @EventListener(BatteryAlert.class)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventBatteryAlertSink implements BatteryAlertSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(BatteryAlert alert) {
+        applicationEventPublisher.publishEvent(alert);
+    }
+}
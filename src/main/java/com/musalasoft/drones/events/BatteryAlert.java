@@ -0,0 +1,14 @@
+package com.musalasoft.drones.events;
+
+import java.time.Instant;
+
+/**
+ * A drone's battery crossed the minimum loading capacity, {@code LOW} on the way down, {@code RECOVERED} on the way up.
+ */
+public record BatteryAlert(Type type, Long droneId, String serialNumber, int batteryCapacity, Instant observedAt) {
+
+    public enum Type {
+        LOW,
+        RECOVERED
+    }
+}
@@ -0,0 +1,10 @@
+package com.musalasoft.drones.events;
+
+/**
+ * Destination for battery threshold alerts. Every sink bean in the context receives every alert, on the sweep
+ * thread, so implementations should hand off anything slow.
+ */
+public interface BatteryAlertSink {
+
+    void publish(BatteryAlert alert);
+}
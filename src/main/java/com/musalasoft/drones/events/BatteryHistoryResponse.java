@@ -0,0 +1,8 @@
+package com.musalasoft.drones.events;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BatteryHistoryResponse(String droneSerialNumber, LocalDateTime from, LocalDateTime to,
+                                     List<BatteryReading> readings) {
+}
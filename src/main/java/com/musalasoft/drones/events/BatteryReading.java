@@ -0,0 +1,6 @@
+package com.musalasoft.drones.events;
+
+import java.time.LocalDateTime;
+
+public record BatteryReading(LocalDateTime createdAt, int batteryCapacity) {
+}
@@ -0,0 +1,45 @@
+package com.musalasoft.drones.events;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Battery aggregate of one drone over one minute, hour or day bucket. Rows are only ever written by
+ * {@link BatteryRollupWriter} as readings arrive, the sum and count are kept so the average stays mergeable.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+//Hibernate lays out the embedded id columns alphabetically, so the drone index restates the key in the order the
+//trend scan reads it and the bucket index serves pruning a granularity by age. Both end in the full key, so the
+//rollup writer's update is a point lookup whichever index the planner picks.
+@Table(name = "battery_rollup", indexes = {
+        @Index(name = "battery_rollup_drone_idx", columnList = "drone_id, granularity, bucket_start"),
+        @Index(name = "battery_rollup_bucket_idx", columnList = "granularity, bucket_start, drone_id")
+})
+public class BatteryRollup {
+
+    @EmbeddedId
+    private BatteryRollupId id;
+
+    private int minBattery;
+
+    private int maxBattery;
+
+    private long batterySum;
+
+    private int readings;
+
+    private int lastBattery;
+
+    private LocalDateTime lastReadingAt;
+
+}
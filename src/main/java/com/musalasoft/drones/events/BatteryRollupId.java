@@ -0,0 +1,24 @@
+package com.musalasoft.drones.events;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+public record BatteryRollupId(
+
+        @Column(name = "drone_id")
+        Long droneId,
+
+        @Enumerated(EnumType.STRING)
+        @Column(length = 10)
+        RollupGranularity granularity,
+
+        LocalDateTime bucketStart
+
+) implements Serializable {
+}
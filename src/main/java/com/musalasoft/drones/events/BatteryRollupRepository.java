@@ -0,0 +1,18 @@
+package com.musalasoft.drones.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BatteryRollupRepository extends JpaRepository<BatteryRollup, BatteryRollupId> {
+
+    @Query("select new com.musalasoft.drones.events.BatteryTrendPoint(r.id.bucketStart, r.minBattery, r.maxBattery, " +
+            "cast(r.batterySum as double) / r.readings, r.lastBattery) " +
+            "from BatteryRollup r where r.id.droneId = :droneId and r.id.granularity = :granularity " +
+            "and r.id.bucketStart >= :from and r.id.bucketStart < :to order by r.id.bucketStart")
+    List<BatteryTrendPoint> findTrend(@Param("droneId") Long droneId, @Param("granularity") RollupGranularity granularity,
+                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,89 @@
+package com.musalasoft.drones.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds freshly written event log rows into the minute, hour and day rollups, inside the transaction that wrote
+ * the rows so raw data and aggregates never drift apart. Existing buckets are updated with one batched UPDATE by
+ * primary key, the buckets it did not find are created with one batched INSERT. Sweep shards own disjoint drone
+ * ids, so no other writer can create the same bucket in between.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatteryRollupWriter {
+
+    private static final String UPDATE_ROLLUP = """
+            update battery_rollup set
+                min_battery = least(min_battery, ?),
+                max_battery = greatest(max_battery, ?),
+                battery_sum = battery_sum + ?,
+                readings = readings + 1,
+                last_battery = case when ? >= last_reading_at then ? else last_battery end,
+                last_reading_at = greatest(last_reading_at, ?)
+            where drone_id = ? and granularity = ? and bucket_start = ?
+            """;
+
+    private static final String INSERT_ROLLUP = """
+            insert into battery_rollup (drone_id, granularity, bucket_start, min_battery, max_battery, battery_sum,
+                readings, last_battery, last_reading_at)
+            values (?, ?, ?, ?, ?, ?, 1, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void apply(List<EventLog> eventLogs) {
+
+        if (eventLogs.isEmpty())
+            return;
+
+        List<Bucket> buckets = new ArrayList<>(eventLogs.size() * RollupGranularity.values().length);
+        for (EventLog eventLog : eventLogs) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                buckets.add(new Bucket(eventLog.getDrone().getDroneId(), granularity.name(),
+                        Timestamp.valueOf(granularity.bucketOf(eventLog.getCreatedAt())),
+                        eventLog.getBatterCapacityAtLogTime(), Timestamp.valueOf(eventLog.getCreatedAt())));
+            }
+        }
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_ROLLUP, buckets, buckets.size(), (ps, bucket) -> {
+            ps.setInt(1, bucket.battery());
+            ps.setInt(2, bucket.battery());
+            ps.setInt(3, bucket.battery());
+            ps.setTimestamp(4, bucket.readingAt());
+            ps.setInt(5, bucket.battery());
+            ps.setTimestamp(6, bucket.readingAt());
+            ps.setLong(7, bucket.droneId());
+            ps.setString(8, bucket.granularity());
+            ps.setTimestamp(9, bucket.bucketStart());
+        });
+
+        List<Bucket> missing = new ArrayList<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            if (updated[0][i] == 0)
+                missing.add(buckets.get(i));
+        }
+        if (missing.isEmpty())
+            return;
+
+        jdbcTemplate.batchUpdate(INSERT_ROLLUP, missing, missing.size(), (ps, bucket) -> {
+            ps.setLong(1, bucket.droneId());
+            ps.setString(2, bucket.granularity());
+            ps.setTimestamp(3, bucket.bucketStart());
+            ps.setInt(4, bucket.battery());
+            ps.setInt(5, bucket.battery());
+            ps.setLong(6, bucket.battery());
+            ps.setInt(7, bucket.battery());
+            ps.setTimestamp(8, bucket.readingAt());
+        });
+    }
+
+    private record Bucket(long droneId, String granularity, Timestamp bucketStart, int battery, Timestamp readingAt) {
+    }
+
+}
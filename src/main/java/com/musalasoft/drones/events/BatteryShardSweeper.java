@@ -0,0 +1,69 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.DroneService;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Sweeps one contiguous drone id shard: streams its battery readings in a read-only transaction
+ * and hands them to the batch writer in chunks of the configured batch size, minus the readings the deadband drops.
+ * Every reading is checked against the battery threshold, only crossings produce alerts.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatteryShardSweeper {
+
+    private final DroneService droneService;
+    private final EventLogBatchWriter eventLogBatchWriter;
+    private final TelemetryProperties telemetryProperties;
+    private final TelemetryDeadband telemetryDeadband;
+    private final BatteryThresholdMonitor batteryThresholdMonitor;
+
+    @Transactional(readOnly = true)
+    public SweepSummary sweep(long fromDroneId, long toDroneId) {
+
+        int batchSize = telemetryProperties.getBatchSize();
+        Instant sweptAt = Instant.now();
+        SweepSummary summary = SweepSummary.EMPTY;
+        List<DroneBatteryLevel> batch = new ArrayList<>(batchSize);
+
+        try (Stream<DroneBatteryLevel> batteryLevels = droneService.streamBatteryLevels(fromDroneId, toDroneId)) {
+            Iterator<DroneBatteryLevel> iterator = batteryLevels.iterator();
+            while (iterator.hasNext()) {
+
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    summary = summary.plus(process(batch, sweptAt));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+
+        if (!batch.isEmpty())
+            summary = summary.plus(process(batch, sweptAt));
+
+        return summary;
+    }
+
+    private SweepSummary process(List<DroneBatteryLevel> batch, Instant sweptAt) {
+
+        SweepSummary thresholds = batteryThresholdMonitor.check(batch, sweptAt);
+
+        List<DroneBatteryLevel> due = telemetryDeadband.filter(batch, sweptAt);
+        if (due.isEmpty())
+            return thresholds;
+
+        int written = eventLogBatchWriter.write(due);
+        telemetryDeadband.logged(due, sweptAt);
+        return thresholds.plus(new SweepSummary(0, written, 0, 0, 0));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.musalasoft.drones.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Triggers the battery sweep on the background job executor and keeps the scheduler thread free.
+ * A new sweep is skipped while the previous one is still running, so slow sweeps never pile up.
+ */
+@Slf4j
+@Component
+public class BatterySweepScheduler {
+
+    private final EventLogService eventLogService;
+    private final MeterRegistry meterRegistry;
+    private final Timer sweepDuration;
+    private final Counter skippedRuns;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BatterySweepScheduler(EventLogService eventLogService, MeterRegistry meterRegistry) {
+        this.eventLogService = eventLogService;
+        this.meterRegistry = meterRegistry;
+        this.sweepDuration = Timer.builder("drones.telemetry.sweep.duration")
+                .description("Time taken by a full battery sweep")
+                .register(meterRegistry);
+        this.skippedRuns = Counter.builder("drones.telemetry.sweep.skipped")
+                .description("Sweeps skipped because the previous one was still running")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRate = 1000 * 10 * 10)
+    public void triggerBatterySweep() {
+
+        if (!running.compareAndSet(false, true)) {
+            skippedRuns.increment();
+            log.warn("Battery sweep skipped, previous sweep still running");
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            eventLogService.logBatteryLevel().whenComplete((result, ex) -> {
+                sample.stop(sweepDuration);
+                running.set(false);
+                if (ex != null)
+                    log.error("Battery sweep failed", ex);
+            });
+        } catch (TaskRejectedException ex) {
+            running.set(false);
+            skippedRuns.increment();
+            log.warn("Battery sweep skipped, background job queue is full");
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.DroneService;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Raises a {@link BatteryAlert} only when a drone crosses {@link DroneService#MIN_LOADING_BATTERY_CAPACITY}, instead of
+ * a log line per drone per sweep. Only the ids of drones last seen below the threshold are kept, so memory follows
+ * the number of low drones rather than the largest id. A drone seen for the first time alerts only if it is already
+ * low. Each drone belongs to one shard, so concurrent shard sweeps never race on the same id.
+ */
+@Slf4j
+@Component
+public class BatteryThresholdMonitor {
+
+    private final List<BatteryAlertSink> sinks;
+    private final Set<Long> low = ConcurrentHashMap.newKeySet();
+
+    public BatteryThresholdMonitor(List<BatteryAlertSink> sinks) {
+        this.sinks = List.copyOf(sinks);
+    }
+
+    public SweepSummary check(List<DroneBatteryLevel> readings, Instant observedAt) {
+
+        int lowDrones = 0;
+        List<BatteryAlert> alerts = new ArrayList<>();
+        for (DroneBatteryLevel reading : readings) {
+            if (reading.batteryCapacity() < DroneService.MIN_LOADING_BATTERY_CAPACITY) {
+                lowDrones++;
+                if (low.add(reading.droneId()))
+                    alerts.add(alert(BatteryAlert.Type.LOW, reading, observedAt));
+            } else if (low.remove(reading.droneId())) {
+                alerts.add(alert(BatteryAlert.Type.RECOVERED, reading, observedAt));
+            }
+        }
+
+        int droppedLow = 0;
+        for (BatteryAlert alert : alerts) {
+            if (alert.type() == BatteryAlert.Type.LOW)
+                droppedLow++;
+            publish(alert);
+        }
+        return new SweepSummary(readings.size(), 0, lowDrones, droppedLow, alerts.size() - droppedLow);
+    }
+
+    private void publish(BatteryAlert alert) {
+        for (BatteryAlertSink sink : sinks) {
+            try {
+                sink.publish(alert);
+            } catch (RuntimeException ex) {
+                log.error("Battery alert sink {} failed for drone {}", sink.getClass().getSimpleName(),
+                        alert.serialNumber(), ex);
+            }
+        }
+    }
+
+    private static BatteryAlert alert(BatteryAlert.Type type, DroneBatteryLevel reading, Instant observedAt) {
+        return new BatteryAlert(type, reading.droneId(), reading.serialNumber(), reading.batteryCapacity(), observedAt);
+    }
+}
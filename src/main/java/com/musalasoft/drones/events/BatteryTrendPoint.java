@@ -0,0 +1,7 @@
+package com.musalasoft.drones.events;
+
+import java.time.LocalDateTime;
+
+public record BatteryTrendPoint(LocalDateTime bucketStart, int minBattery, int maxBattery, double avgBattery,
+                                int lastBattery) {
+}
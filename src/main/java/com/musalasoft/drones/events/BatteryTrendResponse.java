@@ -0,0 +1,8 @@
+package com.musalasoft.drones.events;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BatteryTrendResponse(String droneSerialNumber, RollupGranularity granularity, LocalDateTime from,
+                                   LocalDateTime to, List<BatteryTrendPoint> points) {
+}
@@ -0,0 +1,131 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.config.AsyncConfig;
+import com.musalasoft.drones.drone.DroneChangedEvent;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans drone changes and battery alerts out to the open server-sent event streams. Each subscriber has its own
+ * bounded buffer; publishing never waits on a client, and a client that lets its buffer fill up is disconnected
+ * rather than slowing everyone else down or holding events in memory. A client that stops reading mid-send is
+ * disconnected once the send outlasts {@code drones.events.stream.send-timeout}.
+ */
+@Slf4j
+@Component
+public class DroneEventStream implements BatteryAlertSink {
+
+    private final DroneEventStreamProperties properties;
+    private final Executor sender;
+    private final Set<DroneEventSubscriber> subscribers = new CopyOnWriteArraySet<>();
+    //Slots are reserved before a subscriber is added, so concurrent subscriptions cannot pass the limit together
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter published;
+    private final Counter dropped;
+
+    public DroneEventStream(DroneEventStreamProperties properties,
+                            @Qualifier(AsyncConfig.DRONE_EVENT_EXECUTOR) Executor sender,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sender = sender;
+        this.published = meterRegistry.counter("drones.events.stream.published");
+        this.dropped = meterRegistry.counter("drones.events.stream.dropped");
+        Gauge.builder("drones.events.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Set<String> serialNumbers, Set<State> states) {
+
+        if (open.incrementAndGet() > properties.getMaxSubscribers()) {
+            open.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open drone event streams, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        DroneEventSubscriber subscriber = new DroneEventSubscriber(emitter, Set.copyOf(serialNumbers),
+                Set.copyOf(states), properties.getBufferSize(), sender);
+        emitter.onCompletion(() -> release(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    //After commit only, a change that is rolled back or retried is never streamed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDroneChanged(DroneChangedEvent event) {
+        broadcast(new DroneStreamEvent("drone", event.serialNumber(), event.droneState(), event.batteryCapacity(),
+                event.changedAt()));
+    }
+
+    @Override
+    public void publish(BatteryAlert alert) {
+        broadcast(new DroneStreamEvent("battery-" + alert.type().name().toLowerCase(Locale.ROOT),
+                alert.serialNumber(), null, alert.batteryCapacity(), alert.observedAt()));
+    }
+
+    @Scheduled(fixedRateString = "${drones.events.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(DroneEventSubscriber::heartbeat);
+    }
+
+    @Scheduled(fixedRateString = "${drones.events.stream.send-timeout:PT10S}")
+    public void evictStalled() {
+        evictStalled(System.nanoTime());
+    }
+
+    void evictStalled(long nowNanos) {
+        long timeoutNanos = properties.getSendTimeout().toNanos();
+        for (DroneEventSubscriber subscriber : subscribers) {
+            if (subscriber.stalled(nowNanos, timeoutNanos)) {
+                dropped.increment();
+                log.warn("Dropping drone event subscriber stalled in a send for over {}", properties.getSendTimeout());
+                release(subscriber);
+                subscriber.abort();
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void broadcast(DroneStreamEvent event) {
+        for (DroneEventSubscriber subscriber : subscribers) {
+            if (!subscriber.matches(event))
+                continue;
+            if (subscriber.offer(event)) {
+                published.increment();
+            } else {
+                dropped.increment();
+                log.warn("Dropping slow drone event subscriber, {} events buffered", properties.getBufferSize());
+                remove(subscriber);
+            }
+        }
+    }
+
+    private void remove(DroneEventSubscriber subscriber) {
+        release(subscriber);
+        subscriber.close();
+    }
+
+    private void release(DroneEventSubscriber subscriber) {
+        if (subscribers.remove(subscriber))
+            open.decrementAndGet();
+    }
+
+}
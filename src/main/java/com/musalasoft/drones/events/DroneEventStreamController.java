@@ -0,0 +1,33 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.enums.State;
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+
+@RestController
+@RequestMapping("/api/v1/drones")
+@RequiredArgsConstructor
+public class DroneEventStreamController {
+
+
+    private final DroneEventStream droneEventStream;
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(name = "serialNumber", defaultValue = "") @Parameter(example = "DR-25") Set<String> serialNumbers,
+            @RequestParam(name = "state", defaultValue = "") Set<State> states
+    ) {
+        return droneEventStream.subscribe(serialNumbers, states);
+    }
+
+
+}
@@ -0,0 +1,46 @@
+package com.musalasoft.drones.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.events.stream")
+public class DroneEventStreamProperties {
+
+    /**
+     * Events queued per subscriber. A subscriber whose buffer is full is too slow to keep up and is disconnected.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Open streams allowed at the same time, further subscriptions are refused with 503.
+     */
+    private int maxSubscribers = 1000;
+
+    /**
+     * Threads kept for writing events to subscriber connections. A send stalled on a client holds its thread until
+     * the subscriber is evicted, further threads are added so the other subscribers keep receiving.
+     */
+    private int senderThreads = 4;
+
+    /**
+     * A subscriber whose send has not completed after this long stopped reading and is disconnected. Also the
+     * interval of the check.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Lifetime of one stream, clients reconnect after it.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval of the keep-alive comment that detects dead connections.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+}
@@ -0,0 +1,136 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.enums.State;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One open stream. Publishers only ever {@link #offer} into its bounded buffer and never block on the connection;
+ * at most one sender task per subscriber drains the buffer to the emitter. The emitter's sends and its completion
+ * share a lock, so the emitter is only ever completed by that sender task and a stalled send cannot block whoever
+ * closes the subscriber.
+ */
+class DroneEventSubscriber {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final SseEmitter emitter;
+    private final Set<String> serialNumbers;
+    private final Set<State> states;
+    private final BlockingQueue<Object> buffer;
+    private final Executor sender;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    //Nano time the running send started at, 0 while none is running
+    private final AtomicLong sendStartedAt = new AtomicLong();
+    private volatile Thread sendingThread;
+
+    DroneEventSubscriber(SseEmitter emitter, Set<String> serialNumbers, Set<State> states, int bufferSize,
+                         Executor sender) {
+        this.emitter = emitter;
+        this.serialNumbers = serialNumbers;
+        this.states = states;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Empty filters match everything. Events without a state, such as battery alerts, never match a state filter.
+     */
+    boolean matches(DroneStreamEvent event) {
+        return (serialNumbers.isEmpty() || serialNumbers.contains(event.serialNumber()))
+                && (states.isEmpty() || event.droneState() != null && states.contains(event.droneState()));
+    }
+
+    /**
+     * Queues the event, false when the buffer is full and the subscriber has to be dropped.
+     */
+    boolean offer(DroneStreamEvent event) {
+        return enqueue(event);
+    }
+
+    void heartbeat() {
+        //A missed heartbeat is harmless, only a full buffer of real events drops the subscriber
+        enqueue(HEARTBEAT);
+    }
+
+    /**
+     * True when a send has been running for longer than {@code timeoutNanos}, the client stopped reading.
+     */
+    boolean stalled(long nowNanos, long timeoutNanos) {
+        long startedAt = sendStartedAt.get();
+        return startedAt != 0 && nowNanos - startedAt > timeoutNanos;
+    }
+
+    private boolean enqueue(Object item) {
+        if (closed.get())
+            return true;
+        if (!buffer.offer(item))
+            return false;
+        scheduleDrain();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true))
+            sender.execute(this::drain);
+    }
+
+    private void drain() {
+        sendingThread = Thread.currentThread();
+        try {
+            Object item;
+            while (!closed.get() && (item = buffer.poll()) != null) {
+                sendStartedAt.set(System.nanoTime());
+                if (item == HEARTBEAT)
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                else
+                    emitter.send(SseEmitter.event().name(((DroneStreamEvent) item).type()).data(item));
+                sendStartedAt.set(0);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close();
+        } finally {
+            sendStartedAt.set(0);
+            sendingThread = null;
+            //An abort that arrives as the send returns must not leak into the pool thread's next task
+            Thread.interrupted();
+            if (closed.get() && completed.compareAndSet(false, true))
+                emitter.complete();
+            draining.set(false);
+            if (closed.get() ? !completed.get() : !buffer.isEmpty())
+                scheduleDrain();
+        }
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Closes a stalled subscriber and interrupts its send, for writes that give up when interrupted. Otherwise the
+     * send ends with the container's write timeout, and the emitter is completed then.
+     */
+    void abort() {
+        close();
+        Thread thread = sendingThread;
+        if (thread != null && sendStartedAt.get() != 0)
+            thread.interrupt();
+    }
+}
@@ -0,0 +1,13 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.enums.State;
+
+import java.time.Instant;
+
+/**
+ * Payload of one server-sent event. {@code type} is also the SSE event name: {@code drone} for a state or property
+ * change, {@code battery-low} and {@code battery-recovered} for threshold crossings.
+ */
+public record DroneStreamEvent(String type, String serialNumber, State droneState, Integer batteryCapacity,
+                               Instant at) {
+}
@@ -0,0 +1,45 @@
+package com.musalasoft.drones.events;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+
+@RestController
+@RequestMapping("/api/v1/drones")
+@RequiredArgsConstructor
+public class DroneTelemetryController {
+
+
+    private final EventLogService eventLogService;
+
+    @GetMapping("/{serialNumber}/battery-history")
+    public ResponseEntity<BatteryHistoryResponse> getBatteryHistory(
+            @PathVariable @Parameter(example = "DR-25") String serialNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return new ResponseEntity<>(eventLogService.findBatteryHistory(serialNumber, from, to), HttpStatus.OK);
+    }
+
+    @GetMapping("/{serialNumber}/battery-trend")
+    public ResponseEntity<BatteryTrendResponse> getBatteryTrend(
+            @PathVariable @Parameter(example = "DR-25") String serialNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "500") int maxPoints
+    ) {
+        return new ResponseEntity<>(eventLogService.findBatteryTrend(serialNumber, from, to, maxPoints), HttpStatus.OK);
+    }
+
+
+}
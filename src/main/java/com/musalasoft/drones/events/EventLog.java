@@ -16,11 +16,18 @@ import java.util.Objects;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "event_log")
+//Keyset pagination reads newest first with the log id as tie breaker, battery history is a range scan per drone
+//that never touches the table since the reading itself is part of the index
+@Table(name = "event_log", indexes = {
+        @Index(name = "event_log_created_at_log_id_idx", columnList = "created_at desc, log_id desc"),
+        @Index(name = "event_log_drone_created_at_idx", columnList = "drone_id, created_at, batter_capacity_at_log_time")
+})
 public class EventLog {
 
+    //Pooled sequence, one sequence call hands out ids for a full telemetry batch
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_log_seq")
+    @SequenceGenerator(name = "event_log_seq", sequenceName = "event_log_seq", allocationSize = 500)
     @Column(name = "log_id")
     private Long  logId;
 
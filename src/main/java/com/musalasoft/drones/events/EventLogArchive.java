@@ -0,0 +1,64 @@
+package com.musalasoft.drones.events;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped CSV file that receives the expired event log rows of one purge run. Every append is sync flushed,
+ * so rows are on disk before the transaction that deletes them commits.
+ */
+class EventLogArchive implements Closeable {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final Path file;
+
+    private final BufferedWriter writer;
+
+    EventLogArchive(Path directory, LocalDateTime runStartedAt) {
+        try {
+            Files.createDirectories(directory);
+            this.file = directory.resolve("event_log-" + FILE_TIMESTAMP.format(runStartedAt) + ".csv.gz");
+            this.writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(file), true), StandardCharsets.UTF_8));
+            writer.write("log_id,drone_id,battery_capacity,created_at");
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create event log archive in " + directory, e);
+        }
+    }
+
+    void append(List<ArchivedEventLog> rows) {
+        try {
+            for (ArchivedEventLog row : rows) {
+                writer.write(row.logId() + "," + row.droneId() + "," + row.batteryCapacity() + "," + row.createdAt());
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to event log archive " + file, e);
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    record ArchivedEventLog(long logId, long droneId, int batteryCapacity, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.Drone;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes battery telemetry rows in JDBC batches instead of one insert and transaction per drone.
+ * The persistence context is flushed and cleared after every batch so memory use does not grow with the fleet.
+ * Each call commits on its own, so a long sweep never holds one huge write transaction open.
+ * The battery rollups are updated in the same transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventLogBatchWriter {
+
+    private final EntityManager entityManager;
+    private final TelemetryProperties telemetryProperties;
+    private final BatteryRollupWriter batteryRollupWriter;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int write(List<DroneBatteryLevel> drones) {
+
+        int batchSize = telemetryProperties.getBatchSize();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        List<EventLog> written = new ArrayList<>(drones.size());
+        for (DroneBatteryLevel drone : drones) {
+            EventLog eventLog = EventLog.builder()
+                    .batterCapacityAtLogTime(drone.batteryCapacity())
+                    .drone(entityManager.getReference(Drone.class, drone.droneId()))
+                    .build();
+            entityManager.persist(eventLog);
+            written.add(eventLog);
+
+            if (written.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        batteryRollupWriter.apply(written);
+        return written.size();
+    }
+
+}
@@ -2,6 +2,7 @@ package com.musalasoft.drones.events;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,7 +20,7 @@ public class EventLogController {
     private final EventLogService eventLogService;
 
     @GetMapping
-    public ResponseEntity<Page<EventLog>> getAll(
+    public ResponseEntity<Page<EventLogView>> getAll(
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy
@@ -27,5 +28,19 @@ public class EventLogController {
         return new ResponseEntity<>(eventLogService.findAll(page, size, sortBy), HttpStatus.OK);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<EventLogSlice> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        Slice<EventLogView> slice = eventLogService.scroll(cursor, size);
+        String nextCursor = slice.hasNext()
+                ? EventLogCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1)).encode()
+                : null;
+        return new ResponseEntity<>(
+                new EventLogSlice(slice.getContent(), slice.getNumberOfElements(), slice.hasNext(), nextCursor),
+                HttpStatus.OK);
+    }
+
 
 }
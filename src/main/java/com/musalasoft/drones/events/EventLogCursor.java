@@ -0,0 +1,37 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the event log, the {@code (createdAt, logId)} of the last row a client has seen.
+ * Clients only ever see it as an opaque url-safe token.
+ */
+public record EventLogCursor(LocalDateTime createdAt, Long logId) {
+
+    private static final char SEPARATOR = '|';
+
+    public static EventLogCursor after(EventLogView eventLog) {
+        return new EventLogCursor(eventLog.createdAt(), eventLog.logId());
+    }
+
+    public String encode() {
+        String position = createdAt.toString() + SEPARATOR + logId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventLogCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            return new EventLogCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid event log cursor");
+        }
+    }
+}
@@ -1,6 +1,34 @@
 package com.musalasoft.drones.events;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface EventLogRepository extends JpaRepository<EventLog, Long> {
-}
\ No newline at end of file
+
+    String VIEW = "select new com.musalasoft.drones.events.EventLogView(e.logId, d.droneId, d.serialNumber, " +
+            "e.batterCapacityAtLogTime, e.createdAt) from EventLog e join e.drone d ";
+
+    @Query(value = VIEW, countQuery = "select count(e) from EventLog e")
+    Page<EventLogView> findAllViews(Pageable pageable);
+
+    //Slice return types fetch one extra row to detect the next page instead of running a count query
+    @Query(VIEW + "order by e.createdAt desc, e.logId desc")
+    Slice<EventLogView> findNewest(Pageable pageable);
+
+    @Query(VIEW + "where e.createdAt < :createdAt " +
+            "or (e.createdAt = :createdAt and e.logId < :logId) " +
+            "order by e.createdAt desc, e.logId desc")
+    Slice<EventLogView> findAllBefore(LocalDateTime createdAt, Long logId, Pageable pageable);
+
+    //Reads the foreign key column only, the Drone association is never joined or loaded
+    @Query("select new com.musalasoft.drones.events.BatteryReading(e.createdAt, e.batterCapacityAtLogTime) " +
+            "from EventLog e where e.drone.droneId = :droneId and e.createdAt >= :from and e.createdAt < :to " +
+            "order by e.createdAt")
+    List<BatteryReading> findBatteryHistory(Long droneId, LocalDateTime from, LocalDateTime to);
+}
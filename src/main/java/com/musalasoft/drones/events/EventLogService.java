@@ -1,19 +1,31 @@
 package com.musalasoft.drones.events;
 
 
-import com.musalasoft.drones.drone.Drone;
+import com.musalasoft.drones.config.AsyncConfig;
 import com.musalasoft.drones.drone.DroneService;
+import com.musalasoft.drones.drone.dtos.DroneIdRange;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 
 @Slf4j
@@ -21,39 +33,126 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EventLogService {
 
+    static final int MAX_SCROLL_SIZE = 1000;
+    static final Duration DEFAULT_HISTORY_RANGE = Duration.ofDays(1);
+    static final Duration MAX_HISTORY_RANGE = Duration.ofDays(31);
+    static final int MAX_TREND_POINTS = 1000;
 
     private final DroneService droneService;
     private final EventLogRepository eventLogRepository;
+    private final BatteryRollupRepository batteryRollupRepository;
+    private final BatteryShardSweeper batteryShardSweeper;
+    private final TelemetryProperties telemetryProperties;
+    private final MeterRegistry meterRegistry;
+    @Qualifier(AsyncConfig.TELEMETRY_SHARD_EXECUTOR)
+    private final Executor telemetryShardExecutor;
+
+    /**
+     * Splits the drone id range into {@code drones.telemetry.parallelism} shards and sweeps them in parallel,
+     * each shard in its own transaction with its own batch writer. Logs a single summary line per sweep.
+     */
+    @Async(AsyncConfig.BACKGROUND_JOB_EXECUTOR)
+    public CompletableFuture<SweepSummary> logBatteryLevel() {
+
+        Optional<DroneIdRange> droneIdRange = droneService.findDroneIdRange();
+        if (droneIdRange.isEmpty())
+            return CompletableFuture.completedFuture(SweepSummary.EMPTY);
+
+        long start = System.nanoTime();
+        List<DroneIdRange> shards = droneIdRange.get().split(telemetryProperties.getParallelism());
+        List<CompletableFuture<SweepSummary>> shardSweeps = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            shardSweeps.add(CompletableFuture.supplyAsync(() -> sweepShard(shard, shards.get(shard)), telemetryShardExecutor));
+        }
+
+        SweepSummary summary = shardSweeps.stream()
+                .map(CompletableFuture::join)
+                .reduce(SweepSummary.EMPTY, SweepSummary::plus);
+        log.info("Battery sweep of {} drones wrote {} readings in {} ms, {} below {} percent ({} newly, {} recovered)",
+                summary.drones(), summary.written(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                summary.low(), DroneService.MIN_LOADING_BATTERY_CAPACITY, summary.droppedLow(), summary.recovered());
+        return CompletableFuture.completedFuture(summary);
+    }
 
-    @Async
-    @Scheduled(fixedRate = 1000 * 10 * 10)
-    public void logBatteryLevel() {
 
-        List<Drone> drones = droneService.findAllDrones();
+    private SweepSummary sweepShard(int shard, DroneIdRange range) {
 
-        drones.forEach(drone -> {
+        long start = System.nanoTime();
+        SweepSummary summary = batteryShardSweeper.sweep(range.minId(), range.maxId());
+        long elapsed = System.nanoTime() - start;
 
-            if (drone.getBatteryCapacity() > 25)
-                log.info("Drone (serial number : {} ) battery percentage now at {} percent ",
-                        drone.getSerialNumber(), drone.getBatteryCapacity());
-            else
-                log.warn("Drone (serial number : {} ) battery percentage now critical at {} percent, drone can no longer  be loaded",
-                        drone.getSerialNumber(), drone.getBatteryCapacity());
+        meterRegistry.timer("drones.telemetry.shard.duration", "shard", String.valueOf(shard))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Battery sweep shard {} (drone ids {} - {}) logged {} readings in {} ms",
+                shard, range.minId(), range.maxId(), summary.written(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return summary;
+    }
 
-            eventLogRepository.save(EventLog.builder()
-                    .batterCapacityAtLogTime(drone.getBatteryCapacity())
-                    .drone(drone)
-                    .build());
 
-        });
+    public Page<EventLogView> findAll(int page, int size , String sort){
 
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sort).descending());
+        return eventLogRepository.findAllViews(pageable);
     }
 
+    /**
+     * Newest first keyset pagination over {@code (createdAt, logId)}. Every page is an index range scan
+     * from the cursor, so deep pages cost the same as the first one and no count query is run.
+     */
+    public Slice<EventLogView> scroll(String cursor, int size) {
 
-    public Page<EventLog> findAll(int page, int size , String sort){
+        if (size < 1 || size > MAX_SCROLL_SIZE)
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_SCROLL_SIZE);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort).descending());
-        return eventLogRepository.findAll(pageable);
+        Pageable pageable = PageRequest.ofSize(size);
+        if (cursor == null || cursor.isBlank())
+            return eventLogRepository.findNewest(pageable);
+
+        EventLogCursor position = EventLogCursor.decode(cursor);
+        return eventLogRepository.findAllBefore(position.createdAt(), position.logId(), pageable);
+    }
+
+    /**
+     * Battery readings of one drone in [from, to), oldest first. Defaults to the last day, ranges longer than
+     * {@link #MAX_HISTORY_RANGE} are rejected so a single call stays an index range scan of bounded size.
+     */
+    public BatteryHistoryResponse findBatteryHistory(String serialNumber, LocalDateTime from, LocalDateTime to) {
+
+        LocalDateTime end = Objects.requireNonNullElseGet(to, LocalDateTime::now);
+        LocalDateTime start = Objects.requireNonNullElseGet(from, () -> end.minus(DEFAULT_HISTORY_RANGE));
+        if (!start.isBefore(end))
+            throw new InvalidRequestException("from must be before to");
+        if (Duration.between(start, end).compareTo(MAX_HISTORY_RANGE) > 0)
+            throw new InvalidRequestException("Battery history range cannot exceed " + MAX_HISTORY_RANGE.toDays() + " days");
+
+        Long droneId = droneService.findDroneId(serialNumber);
+        return new BatteryHistoryResponse(serialNumber, start, end,
+                eventLogRepository.findBatteryHistory(droneId, start, end));
+    }
+
+    /**
+     * Battery trend of one drone over [from, to) read from the rollups rather than the raw event log. The finest
+     * granularity that fits in {@code maxPoints} buckets is used, so the cost is bounded by the point count no
+     * matter how much raw history the range covers.
+     */
+    public BatteryTrendResponse findBatteryTrend(String serialNumber, LocalDateTime from, LocalDateTime to,
+                                                 int maxPoints) {
+
+        if (maxPoints < 1 || maxPoints > MAX_TREND_POINTS)
+            throw new InvalidRequestException("maxPoints must be between 1 and " + MAX_TREND_POINTS);
+
+        LocalDateTime end = Objects.requireNonNullElseGet(to, LocalDateTime::now);
+        LocalDateTime start = Objects.requireNonNullElseGet(from, () -> end.minus(DEFAULT_HISTORY_RANGE));
+        if (!start.isBefore(end))
+            throw new InvalidRequestException("from must be before to");
+
+        RollupGranularity granularity = RollupGranularity.forRange(start, end, maxPoints)
+                .orElseThrow(() -> new InvalidRequestException("Range is too long to fit in " + maxPoints + " daily points"));
+
+        Long droneId = droneService.findDroneId(serialNumber);
+        return new BatteryTrendResponse(serialNumber, granularity, start, end,
+                batteryRollupRepository.findTrend(droneId, granularity, granularity.bucketOf(start), end));
     }
 
 
@@ -0,0 +1,9 @@
+package com.musalasoft.drones.events;
+
+import java.util.List;
+
+/**
+ * One keyset page of the event log. {@code nextCursor} is null on the last page.
+ */
+public record EventLogSlice(List<EventLogView> content, int size, boolean hasNext, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package com.musalasoft.drones.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event log row as returned by the API, projected straight from the query so the drone entity is never loaded.
+ */
+public record EventLogView(Long logId, Long droneId, String serialNumber, int batteryCapacity,
+                           LocalDateTime createdAt) {
+}
@@ -0,0 +1,22 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.DroneService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "drones.alerts", name = "log", havingValue = "true", matchIfMissing = true)
+public class LoggingBatteryAlertSink implements BatteryAlertSink {
+
+    @Override
+    public void publish(BatteryAlert alert) {
+        if (alert.type() == BatteryAlert.Type.LOW)
+            log.warn("Drone (serial number : {} ) battery dropped to {} percent, below {} percent it can no longer be loaded",
+                    alert.serialNumber(), alert.batteryCapacity(), DroneService.MIN_LOADING_BATTERY_CAPACITY);
+        else
+            log.info("Drone (serial number : {} ) battery recovered to {} percent, it can be loaded again",
+                    alert.serialNumber(), alert.batteryCapacity());
+    }
+}
@@ -0,0 +1,55 @@
+package com.musalasoft.drones.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.retention")
+public class RetentionProperties {
+
+    /**
+     * Switches the scheduled purge on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long raw event log rows are kept. Matches the longest battery history range by default.
+     */
+    private Duration raw = Duration.ofDays(31);
+
+    /**
+     * How long rollup buckets of each granularity are kept, measured from the start of the bucket.
+     */
+    private Map<RollupGranularity, Duration> rollups = new EnumMap<>(Map.of(
+            RollupGranularity.MINUTE, Duration.ofDays(7),
+            RollupGranularity.HOUR, Duration.ofDays(365),
+            RollupGranularity.DAY, Duration.ofDays(1825)));
+
+    /**
+     * Rows deleted per transaction. Small batches keep every delete short so sweeps writing to the same
+     * tables are never blocked for long.
+     */
+    private int batchSize = 5000;
+
+    private final Archive archive = new Archive();
+
+    @Getter
+    @Setter
+    public static class Archive {
+
+        /**
+         * Write expired raw rows to gzipped CSV files before deleting them.
+         */
+        private boolean enabled = false;
+
+        private Path directory = Path.of("archive");
+    }
+
+}
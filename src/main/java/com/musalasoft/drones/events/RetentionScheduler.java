@@ -0,0 +1,44 @@
+package com.musalasoft.drones.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Triggers the telemetry purge on the background job executor, skipping a run while the previous one is busy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "drones.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RetentionScheduler {
+
+    private final RetentionService retentionService;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(initialDelayString = "${drones.retention.initial-delay:PT5M}", fixedDelayString = "${drones.retention.interval:PT1H}")
+    public void triggerPurge() {
+
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Telemetry purge skipped, previous purge still running");
+            return;
+        }
+
+        try {
+            retentionService.purgeExpired().whenComplete((purged, ex) -> {
+                running.set(false);
+                if (ex != null)
+                    log.error("Telemetry purge failed", ex);
+            });
+        } catch (TaskRejectedException ex) {
+            running.set(false);
+            log.warn("Telemetry purge skipped, background job queue is full");
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.config.AsyncConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes telemetry that has outlived its TTL. Raw event log rows are removed in log id windows of
+ * {@code drones.retention.batch-size}, each window in its own short transaction, optionally archived first.
+ * Rollup buckets are removed per granularity in batches of the same size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RetentionService {
+
+    static final String EVENT_LOG = "event_log";
+    static final String BATTERY_ROLLUP = "battery_rollup";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final RetentionProperties retentionProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Async(AsyncConfig.BACKGROUND_JOB_EXECUTOR)
+    public CompletableFuture<Long> purgeExpired() {
+        return CompletableFuture.completedFuture(purge(LocalDateTime.now()));
+    }
+
+    long purge(LocalDateTime now) {
+
+        long purged = purgeEventLog(now.minus(retentionProperties.getRaw()), now);
+        for (Map.Entry<RollupGranularity, Duration> ttl : retentionProperties.getRollups().entrySet()) {
+            purged += purgeRollups(ttl.getKey(), now.minus(ttl.getValue()));
+        }
+        return purged;
+    }
+
+    private long purgeEventLog(LocalDateTime cutoff, LocalDateTime now) {
+
+        long start = System.nanoTime();
+        Timestamp expiredBefore = Timestamp.valueOf(cutoff);
+        IdRange expired = jdbcTemplate.queryForObject(
+                "select min(log_id), max(log_id) from event_log where created_at < ?",
+                (rs, row) -> new IdRange(rs.getLong(1), rs.wasNull() ? null : rs.getLong(2)), expiredBefore);
+        if (expired == null || expired.maxId() == null) {
+            record(EVENT_LOG, "raw", 0, start);
+            return 0;
+        }
+
+        long purged = 0;
+        EventLogArchive archive = retentionProperties.getArchive().isEnabled()
+                ? new EventLogArchive(retentionProperties.getArchive().getDirectory(), now)
+                : null;
+        try {
+            int batchSize = retentionProperties.getBatchSize();
+            for (long window = expired.minId(); window <= expired.maxId(); window += batchSize) {
+                long from = window;
+                long to = Math.min(expired.maxId(), from + batchSize - 1);
+                purged += transactionOperations.execute(status -> deleteEventLogWindow(from, to, expiredBefore, archive));
+            }
+        } finally {
+            closeArchive(archive);
+        }
+
+        record(EVENT_LOG, "raw", purged, start);
+        log.info("Purged {} event log rows created before {}{}", purged, cutoff,
+                archive == null ? "" : ", archived to " + archive.file());
+        return purged;
+    }
+
+    private int deleteEventLogWindow(long fromId, long toId, Timestamp expiredBefore, EventLogArchive archive) {
+
+        if (archive != null) {
+            archive.append(jdbcTemplate.query("select log_id, drone_id, batter_capacity_at_log_time, created_at " +
+                            "from event_log where log_id between ? and ? and created_at < ? order by log_id",
+                    (rs, row) -> new EventLogArchive.ArchivedEventLog(rs.getLong(1), rs.getLong(2), rs.getInt(3),
+                            rs.getTimestamp(4).toLocalDateTime()),
+                    fromId, toId, expiredBefore));
+        }
+        return jdbcTemplate.update("delete from event_log where log_id between ? and ? and created_at < ?",
+                fromId, toId, expiredBefore);
+    }
+
+    private long purgeRollups(RollupGranularity granularity, LocalDateTime cutoff) {
+
+        long start = System.nanoTime();
+        Timestamp expiredBefore = Timestamp.valueOf(granularity.bucketOf(cutoff));
+        int batchSize = retentionProperties.getBatchSize();
+
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transactionOperations.execute(status -> jdbcTemplate.update(
+                    "delete from battery_rollup where (drone_id, granularity, bucket_start) in (" +
+                            "select drone_id, granularity, bucket_start from battery_rollup " +
+                            "where granularity = ? and bucket_start < ? fetch first ? rows only)",
+                    granularity.name(), expiredBefore, batchSize));
+            purged += deleted;
+        } while (deleted == batchSize);
+
+        record(BATTERY_ROLLUP, granularity.name().toLowerCase(), purged, start);
+        return purged;
+    }
+
+    private void record(String table, String granularity, long purged, long startNanos) {
+        meterRegistry.counter("drones.retention.purged", "table", table, "granularity", granularity).increment(purged);
+        meterRegistry.timer("drones.retention.duration", "table", table, "granularity", granularity)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void closeArchive(EventLogArchive archive) {
+        if (archive == null)
+            return;
+        try {
+            archive.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record IdRange(long minId, Long maxId) {
+    }
+
+}
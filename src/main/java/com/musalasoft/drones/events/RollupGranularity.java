@@ -0,0 +1,36 @@
+package com.musalasoft.drones.events;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+public enum RollupGranularity {
+
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime bucketOf(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    /**
+     * Finest granularity that answers the range in at most {@code maxPoints} buckets,
+     * empty when even day buckets would return more. The point budget is what bounds the
+     * query; a coarser rollup that also fits would only cost resolution.
+     */
+    public static Optional<RollupGranularity> forRange(LocalDateTime from, LocalDateTime to, int maxPoints) {
+        for (RollupGranularity granularity : values()) {
+            long buckets = granularity.unit.between(granularity.bucketOf(from), to) + 1;
+            if (buckets <= maxPoints)
+                return Optional.of(granularity);
+        }
+        return Optional.empty();
+    }
+}
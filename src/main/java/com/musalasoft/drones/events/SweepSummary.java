@@ -0,0 +1,14 @@
+package com.musalasoft.drones.events;
+
+/**
+ * Counts of one battery sweep, or of one shard of it.
+ */
+public record SweepSummary(int drones, int written, int low, int droppedLow, int recovered) {
+
+    public static final SweepSummary EMPTY = new SweepSummary(0, 0, 0, 0, 0);
+
+    public SweepSummary plus(SweepSummary other) {
+        return new SweepSummary(drones + other.drones, written + other.written, low + other.low,
+                droppedLow + other.droppedLow, recovered + other.recovered);
+    }
+}
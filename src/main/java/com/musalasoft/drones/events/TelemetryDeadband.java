@@ -0,0 +1,128 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides which battery readings are worth an event log row when the deadband is enabled: a reading is logged when
+ * it moved by at least {@code delta} from the last logged value or when the heartbeat is due, otherwise dropped.
+ * <p>
+ * The last logged value and time of every drone live in an open addressing map of primitive longs, 16 bytes per slot,
+ * instead of a map of boxed objects. Sweep shards call it once per batch, so a single lock is enough.
+ * State is in memory only, after a restart the first sweep logs every drone again.
+ */
+@Component
+public class TelemetryDeadband {
+
+    private static final long EMPTY = 0L;
+    private static final float MAX_LOAD = 0.5f;
+
+    private final TelemetryProperties.Deadband properties;
+    private final Counter suppressed;
+
+    private long[] droneIds = new long[1024];
+    //Last logged epoch second shifted left by 8 bits, battery capacity in the low 8 bits
+    private long[] lastLogged = new long[1024];
+    private int size;
+
+    public TelemetryDeadband(TelemetryProperties telemetryProperties, MeterRegistry meterRegistry) {
+        this.properties = telemetryProperties.getDeadband();
+        this.suppressed = Counter.builder("drones.telemetry.deadband.suppressed")
+                .description("Battery readings not logged because they stayed inside the deadband")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Readings of the batch that have to be logged. Nothing is remembered until {@link #logged} is called,
+     * so a batch whose write fails is offered again on the next sweep.
+     */
+    public List<DroneBatteryLevel> filter(List<DroneBatteryLevel> readings, Instant now) {
+
+        if (!properties.isEnabled())
+            return readings;
+
+        long nowSeconds = now.getEpochSecond();
+        long heartbeatSeconds = properties.getHeartbeat().toSeconds();
+        List<DroneBatteryLevel> due = new ArrayList<>(readings.size());
+        synchronized (this) {
+            for (DroneBatteryLevel reading : readings) {
+                long last = get(reading.droneId());
+                if (last == EMPTY
+                        || Math.abs(reading.batteryCapacity() - (int) (last & 0xFF)) >= properties.getDelta()
+                        || nowSeconds - (last >>> 8) >= heartbeatSeconds)
+                    due.add(reading);
+            }
+        }
+
+        suppressed.increment(readings.size() - due.size());
+        return due;
+    }
+
+    public void logged(List<DroneBatteryLevel> readings, Instant now) {
+
+        if (!properties.isEnabled())
+            return;
+
+        long nowSeconds = now.getEpochSecond();
+        synchronized (this) {
+            for (DroneBatteryLevel reading : readings) {
+                put(reading.droneId(), nowSeconds << 8 | (reading.batteryCapacity() & 0xFF));
+            }
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private long get(long droneId) {
+        for (int slot = slot(droneId, droneIds.length); ; slot = (slot + 1) & (droneIds.length - 1)) {
+            if (droneIds[slot] == droneId)
+                return lastLogged[slot];
+            if (droneIds[slot] == EMPTY)
+                return EMPTY;
+        }
+    }
+
+    //Generated drone ids start at 1, so 0 marks a free slot
+    private void put(long droneId, long value) {
+        if (size + 1 > droneIds.length * MAX_LOAD)
+            grow();
+
+        for (int slot = slot(droneId, droneIds.length); ; slot = (slot + 1) & (droneIds.length - 1)) {
+            if (droneIds[slot] == droneId) {
+                lastLogged[slot] = value;
+                return;
+            }
+            if (droneIds[slot] == EMPTY) {
+                droneIds[slot] = droneId;
+                lastLogged[slot] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    private void grow() {
+        long[] oldIds = droneIds;
+        long[] oldValues = lastLogged;
+        droneIds = new long[oldIds.length * 2];
+        lastLogged = new long[oldIds.length * 2];
+        size = 0;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != EMPTY)
+                put(oldIds[i], oldValues[i]);
+        }
+    }
+
+    private static int slot(long droneId, int capacity) {
+        long hash = droneId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & (capacity - 1);
+    }
+}
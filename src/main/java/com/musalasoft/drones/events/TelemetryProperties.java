@@ -0,0 +1,50 @@
+package com.musalasoft.drones.events;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "drones.telemetry")
+public class TelemetryProperties {
+
+    /**
+     * Number of drones read per page and number of event log rows sent per JDBC batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Number of drone id shards swept in parallel. Each shard holds a read connection and briefly a
+     * write connection, so keep this at or below half of the connection pool.
+     */
+    @Min(1)
+    private int parallelism = 4;
+
+    private final Deadband deadband = new Deadband();
+
+    @Getter
+    @Setter
+    public static class Deadband {
+
+        /**
+         * Only log a reading when the battery moved by at least {@code delta} percent since the last logged
+         * reading of the drone or the heartbeat is due. Off means every reading of every sweep is logged. Battery
+         * history then has gaps of up to {@code heartbeat} and rollups are computed from the logged readings only.
+         */
+        private boolean enabled = false;
+
+        private int delta = 5;
+
+        /**
+         * Longest time a drone goes without an event log row while the deadband is enabled.
+         */
+        private Duration heartbeat = Duration.ofMinutes(30);
+    }
+
+}
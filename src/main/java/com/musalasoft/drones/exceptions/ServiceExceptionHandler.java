@@ -2,9 +2,11 @@ package com.musalasoft.drones.exceptions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -43,6 +45,34 @@ public class ServiceExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Object> concurrencyFailureExceptionHandler(ConcurrencyFailureException ex) {
+        ErrorMessage customError = ErrorMessage.builder()
+                .eventTime(ZonedDateTime.now())
+                .errorDescription("The record was changed by another request, please try again")
+                .errorCode(HttpStatus.CONFLICT)
+                .build();
+        log.error(customError.toString(), ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(customError);
+    }
+
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Object> serviceUnavailableExceptionHandler(ServiceUnavailableException ex) {
+        ErrorMessage customError = ErrorMessage.builder()
+                .eventTime(ZonedDateTime.now())
+                .errorDescription(ex.getLocalizedMessage())
+                .errorCode(HttpStatus.SERVICE_UNAVAILABLE)
+                .build();
+        log.error(customError.toString(), ex);
+        //Content type is fixed so the error is still written to clients that only accept text/event-stream
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(customError);
+    }
+
+
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<Object> invalidRequestHandler(InvalidRequestException ex) {
         ErrorMessage customError = ErrorMessage.builder()
@@ -0,0 +1,9 @@
+package com.musalasoft.drones.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.musalasoft.drones.medication;
 
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.musalasoft.drones.drone.Drone;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
@@ -10,6 +11,7 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Objects;
 
@@ -29,6 +31,11 @@ public class Medication {
     @Column(name = "medication_id")
     private Long  medicationId;
 
+    @Version
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Long version;
+
     @Column(name = "medication_name")
     @Pattern(regexp = "[a-zA-Z0-9-_]+", message = "Medication name must contain only letters, numbers, ‘-‘, ‘_’")
     @NotEmpty
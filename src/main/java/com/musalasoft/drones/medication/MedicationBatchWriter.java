@@ -0,0 +1,42 @@
+package com.musalasoft.drones.medication;
+
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserts one import chunk of new medications in JDBC batches and commits it on its own, so a large catalogue
+ * never holds one huge write transaction open.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MedicationBatchWriter {
+
+    private final EntityManager entityManager;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int write(List<MedicationRequest> requests) {
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(requests.size());
+        for (MedicationRequest request : requests) {
+            entityManager.persist(Medication.builder()
+                    .name(request.name())
+                    .weight(request.weight())
+                    .available(true)
+                    .code(request.code())
+                    .imageUrl(request.imageUrl())
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return requests.size();
+    }
+
+}
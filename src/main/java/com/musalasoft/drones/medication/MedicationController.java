@@ -1,5 +1,6 @@
 package com.musalasoft.drones.medication;
 
+import com.musalasoft.drones.medication.dtos.MedicationImportResponse;
 import com.musalasoft.drones.medication.dtos.MedicationRequest;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
@@ -9,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 
 @RestController
 @RequestMapping("/api/v1/medication")
@@ -18,6 +21,8 @@ public class MedicationController {
 
     private final MedicationService medicationService;
 
+    private final MedicationImportService medicationImportService;
+
     @PostMapping("/registration")
     public ResponseEntity<Medication> addMedication(
             @RequestBody @Valid MedicationRequest request
@@ -25,6 +30,18 @@ public class MedicationController {
         return new ResponseEntity<>(medicationService.addMedication(request), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<MedicationImportResponse> importNdjson(InputStream body) {
+        return new ResponseEntity<>(
+                medicationImportService.importMedications(body, MedicationImportFormat.NDJSON), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<MedicationImportResponse> importCsv(InputStream body) {
+        return new ResponseEntity<>(
+                medicationImportService.importMedications(body, MedicationImportFormat.CSV), HttpStatus.OK);
+    }
+
     @GetMapping
     public ResponseEntity<Page<Medication>> getAll(
             @RequestParam(name = "page", defaultValue = "0") int page,
@@ -0,0 +1,16 @@
+package com.musalasoft.drones.medication;
+
+public enum MedicationImportFormat {
+
+    /**
+     * One JSON {@link com.musalasoft.drones.medication.dtos.MedicationRequest} object per line.
+     */
+    NDJSON,
+
+    /**
+     * A header line naming the {@code name}, {@code weight}, {@code code} and optional {@code imageUrl} columns
+     * in any order, then one medication per line. Fields may be double quoted.
+     */
+    CSV
+
+}
@@ -0,0 +1,22 @@
+package com.musalasoft.drones.medication;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "drones.medication-import")
+public class MedicationImportProperties {
+
+    /**
+     * Lines checked for duplicate codes per query, inserted per JDBC batch and committed per transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Rejected lines listed in the response, the ones past it are only counted.
+     */
+    private int maxRejections = 1000;
+
+}
@@ -0,0 +1,156 @@
+package com.musalasoft.drones.medication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.musalasoft.drones.config.BatchRegistration;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import com.musalasoft.drones.medication.dtos.MedicationImportResponse;
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+import com.musalasoft.drones.medication.dtos.RejectedLine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Registers medication catalogues streamed as NDJSON or CSV. Lines are validated as they are read and collected into
+ * chunks; each chunk costs one duplicate-code query and one batched insert, so the body is never buffered whole.
+ * Rejected lines beyond the configured maximum are counted but not kept, so a bad body cannot fill the heap either.
+ */
+@Slf4j
+@Service
+public class MedicationImportService {
+
+    private final MedicationRepository medicationRepository;
+
+    private final MedicationBatchWriter medicationBatchWriter;
+
+    private final MedicationImportProperties properties;
+
+    private final BatchRegistration batchRegistration;
+
+    private final ObjectReader requestReader;
+
+    public MedicationImportService(MedicationRepository medicationRepository, MedicationBatchWriter medicationBatchWriter,
+                                   MedicationImportProperties properties, BatchRegistration batchRegistration,
+                                   ObjectMapper objectMapper) {
+        this.medicationRepository = medicationRepository;
+        this.medicationBatchWriter = medicationBatchWriter;
+        this.properties = properties;
+        this.batchRegistration = batchRegistration;
+        this.requestReader = objectMapper.readerFor(MedicationRequest.class);
+    }
+
+    public MedicationImportResponse importMedications(InputStream body, MedicationImportFormat format) {
+
+        MedicationLineReader reader = new MedicationLineReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), format, requestReader);
+        Rejections rejections = new Rejections(properties.getMaxRejections());
+        List<MedicationLineReader.Line> chunk = new ArrayList<>(properties.getChunkSize());
+        long accepted = 0;
+
+        try {
+            MedicationLineReader.Line line;
+            while ((line = reader.next()) != null) {
+                String error = line.error() != null ? line.error() : batchRegistration.violations(line.request());
+                if (error != null) {
+                    rejections.add(new RejectedLine(line.number(), code(line), error));
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == properties.getChunkSize()) {
+                    accepted += writeChunk(chunk, rejections);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new InvalidRequestException("Could not read the import body : " + ex.getMessage());
+        }
+        accepted += writeChunk(chunk, rejections);
+
+        log.info("Medication import finished, {} accepted and {} rejected", accepted, rejections.count);
+        return new MedicationImportResponse(accepted, rejections.count, rejections.first());
+    }
+
+    /**
+     * Drops codes that already exist or repeat earlier in the chunk, then inserts the rest. A concurrent import
+     * that registered one of the codes in between fails the batch, in which case the check runs once more.
+     */
+    private int writeChunk(List<MedicationLineReader.Line> chunk, Rejections rejections) {
+        if (chunk.isEmpty())
+            return 0;
+
+        try {
+            return insertNew(chunk, rejections);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Medication import chunk collided with a concurrent registration, checking duplicates again");
+            return insertNew(chunk, rejections);
+        }
+    }
+
+    private int insertNew(List<MedicationLineReader.Line> chunk, Rejections rejections) {
+
+        Set<String> existing = medicationRepository.findExistingCodes(
+                chunk.stream().map(line -> line.request().code()).collect(Collectors.toSet()));
+
+        Set<String> seen = new HashSet<>();
+        List<MedicationRequest> requests = new ArrayList<>(chunk.size());
+        List<RejectedLine> duplicates = new ArrayList<>();
+        for (MedicationLineReader.Line line : chunk) {
+            String code = line.request().code();
+            if (existing.contains(code))
+                duplicates.add(new RejectedLine(line.number(), code, "Medication already exists with this code"));
+            else if (!seen.add(code))
+                duplicates.add(new RejectedLine(line.number(), code, "Code repeated earlier in the import"));
+            else
+                requests.add(line.request());
+        }
+
+        int written = requests.isEmpty() ? 0 : medicationBatchWriter.write(requests);
+        duplicates.forEach(rejections::add);
+        return written;
+    }
+
+    private static String code(MedicationLineReader.Line line) {
+        return line.request() == null ? null : line.request().code();
+    }
+
+    /**
+     * Counts every rejected line but keeps only the {@code limit} lowest line numbers. Duplicates are found when a
+     * chunk is written, after later lines were already rejected, so the kept ones are not simply the first added.
+     */
+    private static final class Rejections {
+
+        private final int limit;
+
+        private final PriorityQueue<RejectedLine> kept =
+                new PriorityQueue<>(Comparator.comparingLong(RejectedLine::line).reversed());
+
+        private long count;
+
+        Rejections(int limit) {
+            this.limit = limit;
+        }
+
+        void add(RejectedLine rejection) {
+            count++;
+            kept.add(rejection);
+            if (kept.size() > limit)
+                kept.poll();
+        }
+
+        List<RejectedLine> first() {
+            List<RejectedLine> first = new ArrayList<>(kept);
+            first.sort(Comparator.comparingLong(RejectedLine::line));
+            return first;
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.musalasoft.drones.medication;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads an import body one line at a time, so only the current line is ever held in memory. Blank lines are
+ * skipped, a line that cannot be parsed or holds a JSON {@code null} is returned with an error instead of failing the
+ * import.
+ */
+final class MedicationLineReader {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "weight", "code", "imageurl");
+
+    record Line(long number, MedicationRequest request, String error) {
+    }
+
+    private final BufferedReader reader;
+
+    private final MedicationImportFormat format;
+
+    private final ObjectReader jsonReader;
+
+    private int[] csvColumns;
+
+    private long lineNumber;
+
+    MedicationLineReader(BufferedReader reader, MedicationImportFormat format, ObjectReader jsonReader) {
+        this.reader = reader;
+        this.format = format;
+        this.jsonReader = jsonReader;
+    }
+
+    /**
+     * The next non-blank line, or {@code null} at the end of the body.
+     */
+    Line next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            lineNumber++;
+            if (text == null)
+                return null;
+        } while (text.isBlank());
+
+        if (format == MedicationImportFormat.CSV && csvColumns == null) {
+            csvColumns = readHeader(text);
+            return next();
+        }
+        return format == MedicationImportFormat.CSV ? parseCsv(text) : parseJson(text);
+    }
+
+    private Line parseJson(String text) {
+        try {
+            MedicationRequest request = jsonReader.readValue(text);
+            if (request == null)
+                return new Line(lineNumber, null, "Line must be a JSON object, found : null");
+            return new Line(lineNumber, request, null);
+        } catch (JsonProcessingException ex) {
+            return new Line(lineNumber, null, "Malformed JSON : " + ex.getOriginalMessage());
+        }
+    }
+
+    private int[] readHeader(String text) {
+        List<String> header = splitCsv(text).stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++)
+            columns[i] = header.indexOf(CSV_COLUMNS.get(i));
+        if (columns[0] < 0 || columns[1] < 0 || columns[2] < 0)
+            throw new InvalidRequestException("CSV header must name the name, weight and code columns, found : " + text);
+        return columns;
+    }
+
+    private Line parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        String weight = field(fields, csvColumns[1]);
+        try {
+            return new Line(lineNumber, new MedicationRequest(
+                    field(fields, csvColumns[0]),
+                    weight == null || weight.isBlank() ? null : Integer.valueOf(weight.trim()),
+                    field(fields, csvColumns[2]),
+                    field(fields, csvColumns[3])), null);
+        } catch (NumberFormatException ex) {
+            return new Line(lineNumber, null, "Weight is not a number : " + weight);
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < 0 || column >= fields.size() ? null : fields.get(column);
+    }
+
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.musalasoft.drones.medication;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 
@@ -13,5 +17,23 @@ public interface MedicationRepository extends JpaRepository<Medication, Long> {
 
     Optional<Medication> findMedicationByCodeAndAvailable(String medicationCode, boolean available);
 
+    @Query("select m.code from Medication m where m.code in :codes")
+    Set<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
+    @Query("select m from Medication m where m.code in :codes and m.drone.serialNumber = :serialNumber")
+    Set<Medication> findLoadedByCodes(@Param("codes") Collection<String> codes,
+                                      @Param("serialNumber") String serialNumber);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update medication set available = true, drone_id = null, version = version + 1 " +
+            "where medication_id in (:ids) and drone_id = :droneId", nativeQuery = true)
+    int releaseFromDrone(@Param("ids") Collection<Long> ids, @Param("droneId") Long droneId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update medication set available = :available, drone_id = :droneId, version = version + 1 " +
+            "where medication_id in (:ids) and available = :expected", nativeQuery = true)
+    int updateAvailability(@Param("ids") Collection<Long> ids, @Param("expected") boolean expected,
+                           @Param("available") boolean available, @Param("droneId") Long droneId);
+
 
 }
\ No newline at end of file
@@ -8,8 +8,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -18,6 +21,8 @@ import java.util.Set;
 public class MedicationService {
 
 
+    private static final int UPDATE_CHUNK_SIZE = 1_000;
+
     private final MedicationRepository medicationRepository;
 
 
@@ -51,9 +56,44 @@ public class MedicationService {
     }
 
 
-    public void updateMedicationAvailability(Set<Medication> medications, boolean isAvailable){
-        medications.parallelStream().forEach(medication -> medication.setAvailable(isAvailable));
-        medicationRepository.saveAll(medications);
+    /**
+     * Flips availability and drone assignment with one UPDATE per {@value #UPDATE_CHUNK_SIZE} ids, touching only rows
+     * still in the opposite state. Must run inside the caller's transaction, which is failed with a conflict when any
+     * of the medications was taken concurrently. The persistence context is flushed and cleared, so callers save their
+     * own changes first.
+     */
+    public void updateMedicationAvailability(Collection<Medication> medications, boolean isAvailable, Long droneId){
+
+        List<Long> ids = medications.stream().map(Medication::getMedicationId).toList();
+        for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+            int updated = medicationRepository.updateAvailability(chunk, !isAvailable, isAvailable, droneId);
+            if (updated != chunk.size())
+                throw new ObjectOptimisticLockingFailureException(Medication.class, chunk);
+        }
+        medications.forEach(medication -> medication.setAvailable(isAvailable));
+    }
+
+
+    public Set<Medication> findLoadedByCodes(Set<String> medicCodes, String droneSerialNumber){
+        return medicationRepository.findLoadedByCodes(medicCodes, droneSerialNumber);
+    }
+
+
+    /**
+     * Makes medications available again with one conditional UPDATE per {@value #UPDATE_CHUNK_SIZE} ids that only
+     * touches rows still assigned to the drone, failing the caller's transaction with a conflict when any of them was
+     * released concurrently.
+     */
+    public void releaseFromDrone(Collection<Medication> medications, Long droneId){
+
+        List<Long> ids = medications.stream().map(Medication::getMedicationId).toList();
+        for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+            if (medicationRepository.releaseFromDrone(chunk, droneId) != chunk.size())
+                throw new ObjectOptimisticLockingFailureException(Medication.class, chunk);
+        }
+        medications.forEach(medication -> medication.setAvailable(true));
     }
 
 
@@ -0,0 +1,10 @@
+package com.musalasoft.drones.medication.dtos;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code rejected} counts every line that was not registered, {@code rejections} lists the
+ * first of them by line number, up to the configured maximum.
+ */
+public record MedicationImportResponse(long accepted, long rejected, List<RejectedLine> rejections) {
+}
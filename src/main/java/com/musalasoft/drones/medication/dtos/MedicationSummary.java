@@ -0,0 +1,10 @@
+package com.musalasoft.drones.medication.dtos;
+
+import com.musalasoft.drones.medication.Medication;
+
+public record MedicationSummary(String code, String name, int weight) {
+
+    public static MedicationSummary of(Medication medication) {
+        return new MedicationSummary(medication.getCode(), medication.getName(), medication.getWeight());
+    }
+}
@@ -0,0 +1,4 @@
+package com.musalasoft.drones.medication.dtos;
+
+public record RejectedLine(long line, String code, String reason) {
+}
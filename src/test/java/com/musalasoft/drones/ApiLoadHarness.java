@@ -0,0 +1,223 @@
+package com.musalasoft.drones;
+
+import com.musalasoft.drones.drone.FleetRegistrationService;
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.RegistrationMode;
+import com.musalasoft.drones.drone.enums.State;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop HTTP load test of the drone and medication endpoints, once per Spring profile in the same JVM. Each
+ * client sends its next request as soon as the previous one returns, so the number of clients is the concurrency.
+ * Only requests started after the warmup are measured.
+ * <p>
+ * {@code mvn -Ploadtest test -Dloadtest="clients=1000 duration=PT30S profiles=default,virtual-threads"}
+ * <p>
+ * The request mix is 40% capacity reads and 20% property updates, which both go to the database, 20% cached battery
+ * reads, 10% available-drone queries served from memory and 10% medication pages.
+ */
+public final class ApiLoadHarness {
+
+    private static final int DRONES = 2_000;
+
+    private static final int MEDICATIONS = 5_000;
+
+    private ApiLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = parseOptions(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        List<String> profiles = List.of(options.getOrDefault("profiles", "default,virtual-threads").split(","));
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-16s %8s %6s %9s %8s %8s %10s %9s %9s",
+                "Profile", "Virtual", "Pool", "Clients", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms"));
+
+        for (String profile : profiles) {
+            try (ConfigurableApplicationContext context = startApplication(profile)) {
+                seed(context);
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                Result result = run(port, clients, warmup, duration);
+                report.add(String.format("%-16s %8s %6d %9d %8d %8d %10.0f %9.1f %9.1f",
+                        profile,
+                        context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                                && Runtime.version().feature() >= 21,
+                        context.getBean(HikariDataSource.class).getMaximumPoolSize(),
+                        clients, result.requests(), result.errors(),
+                        result.requests() / (double) duration.toMillis() * 1000,
+                        result.percentile(0.50), result.percentile(0.99)));
+            }
+        }
+
+        System.out.println();
+        System.out.println("Java " + Runtime.version() + ", " + Runtime.getRuntime().availableProcessors() + " CPUs, "
+                + "warmup " + warmup + ", measured " + duration);
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext startApplication(String profile) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DronesApplication.class)
+                .profiles(profile.equals("default") ? new String[0] : new String[]{profile})
+                .properties("spring.main.banner-mode=off", "logging.level.root=warn", "server.port=0",
+                        "drones.alerts.log=false")
+                .run();
+
+        context.getBeansOfType(ScheduledTaskHolder.class).values()
+                .forEach(holder -> holder.getScheduledTasks().forEach(ScheduledTask::cancel));
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Model[] models = Model.values();
+        context.getBean(FleetRegistrationService.class).registerFleet(IntStream.rangeClosed(1, DRONES)
+                .mapToObj(i -> new DroneRequest("LOAD-" + i, models[i % models.length], 500, random.nextInt(26, 101),
+                        State.IDLE))
+                .toList(), RegistrationMode.ALL_OR_NOTHING);
+
+        List<Object[]> medications = IntStream.rangeClosed(1, MEDICATIONS)
+                .mapToObj(i -> new Object[]{-i, "MED-" + i, random.nextInt(1, 501), "LOAD_" + i})
+                .toList();
+        context.getBean(JdbcTemplate.class).batchUpdate("insert into medication (medication_id, medication_name, " +
+                "weight, available, code, version) values (?, ?, ?, true, ?, 0)", medications);
+    }
+
+    private static Result run(int port, int clients, Duration warmup, Duration duration) throws Exception {
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String baseUrl = "http://localhost:" + port;
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            for (int client = 0; client < clients; client++) {
+                long[] samples = new long[1 << 13];
+                latencies.add(samples);
+                executor.execute(() -> {
+                    try {
+                        runClient(httpClient, baseUrl, measureFrom, measureUntil, samples, errors);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long[] all = latencies.stream()
+                .flatMapToLong(samples -> Arrays.stream(samples, 1, (int) samples[0] + 1))
+                .sorted()
+                .toArray();
+        return new Result(all, errors.get());
+    }
+
+    /**
+     * samples[0] holds the number of latencies recorded after it.
+     */
+    private static void runClient(HttpClient httpClient, String baseUrl, long measureFrom, long measureUntil,
+                                  long[] samples, AtomicLong errors) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= measureUntil)
+                return;
+
+            boolean failed;
+            try {
+                int status = httpClient.send(nextRequest(baseUrl, random), HttpResponse.BodyHandlers.discarding())
+                        .statusCode();
+                failed = status >= 500;
+            } catch (Exception ex) {
+                failed = true;
+            }
+
+            if (start < measureFrom)
+                continue;
+            if (failed)
+                errors.incrementAndGet();
+            else if (samples[0] < samples.length - 1)
+                samples[(int) ++samples[0]] = System.nanoTime() - start;
+        }
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, ThreadLocalRandom random) {
+        String drone = baseUrl + "/api/v1/drones/LOAD-" + random.nextInt(1, DRONES + 1);
+        int pick = random.nextInt(10);
+        HttpRequest.Builder request;
+        if (pick < 4)
+            request = HttpRequest.newBuilder(URI.create(drone + "/capacity"));
+        else if (pick < 6)
+            request = HttpRequest.newBuilder(URI.create(drone))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            "{\"batteryCapacity\":" + random.nextInt(26, 101) + "}"));
+        else if (pick < 8)
+            request = HttpRequest.newBuilder(URI.create(drone + "/battery-level"));
+        else if (pick < 9)
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/drones/available?model="
+                    + Model.values()[random.nextInt(Model.values().length)] + "&minBatteryCapacity=95"));
+        else
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/medication?size=20&page="
+                    + random.nextInt(MEDICATIONS / 20)));
+        return request.timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        return Arrays.stream(args)
+                .map(arg -> arg.split("=", 2))
+                .collect(Collectors.toMap(option -> option[0], option -> option[1]));
+    }
+
+    private record Result(long[] sortedNanos, long errors) {
+
+        long requests() {
+            return sortedNanos.length;
+        }
+
+        double percentile(double quantile) {
+            if (sortedNanos.length == 0)
+                return Double.NaN;
+            int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+}
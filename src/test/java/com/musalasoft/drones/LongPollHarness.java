@@ -0,0 +1,329 @@
+package com.musalasoft.drones;
+
+import com.musalasoft.drones.drone.FleetRegistrationService;
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.RegistrationMode;
+import com.musalasoft.drones.drone.enums.State;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares how many request threads and connections status pollers cost when they short-poll
+ * {@code GET /battery-level} at a fixed interval and when they long-poll it with {@code ifChangedFrom}. The
+ * application runs in this JVM and is sampled while the clients run in a forked JVM, so each side needs one socket
+ * per client. Clients are asynchronous and need a handful of threads whatever their number; they also change
+ * battery levels over HTTP at a fixed rate. Each mode gets a fresh application context, clients are ramped up
+ * during the warmup and only the measured window is reported.
+ * <p>
+ * {@code mvn -Ploadtest test -Dloadtest.harness=LongPollHarness -Dloadtest="clients=10000 modes=poll,long-poll"}
+ * <p>
+ * "Seen after" is the delay between a battery level change being sent and the first client response carrying it.
+ */
+public final class LongPollHarness {
+
+    private static final int DRONES = 2_000;
+
+    private static final String RESULT = "RESULT";
+
+    private LongPollHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = parseOptions(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "10000"));
+        int updatesPerSecond = Integer.parseInt(options.getOrDefault("updates", "50"));
+        Duration interval = Duration.parse(options.getOrDefault("interval", "PT1S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT20S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        List<String> modes = List.of(options.getOrDefault("modes", "poll,long-poll").split(","));
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %8s %9s %8s %8s %8s %10s %10s %9s %9s %9s %9s %7s",
+                "Mode", "Clients", "Req/s", "Errors", "Writes", "Changes", "Seen p50", "Seen p99",
+                "Busy avg", "Busy max", "Conn max", "JVM thr", "DB max"));
+
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext context = startApplication()) {
+                seed(context);
+                long measureFrom = System.currentTimeMillis() + warmup.toMillis();
+                long measureUntil = measureFrom + duration.toMillis();
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+                Process clientProcess = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java")
+                        .toString(), "-cp", System.getProperty("java.class.path"), Clients.class.getName(),
+                        "port=" + port, "longPoll=" + mode.equals("long-poll"), "clients=" + clients,
+                        "updates=" + updatesPerSecond, "interval=" + interval, "measureFrom=" + measureFrom,
+                        "measureUntil=" + measureUntil, "rampUntil=" + (measureFrom - warmup.toMillis() / 2))
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+
+                List<int[]> samples = sample(context, measureFrom, measureUntil);
+                String[] result = null;
+                try (BufferedReader output = new BufferedReader(new InputStreamReader(clientProcess.getInputStream()))) {
+                    for (String line = output.readLine(); line != null; line = output.readLine()) {
+                        if (line.startsWith(RESULT))
+                            result = line.split(" ");
+                        else
+                            System.out.println(line);
+                    }
+                }
+                if (clientProcess.waitFor() != 0 || result == null)
+                    throw new IllegalStateException("Client process failed for mode " + mode);
+
+                report.add(String.format("%-10s %8d %9.0f %8s %8s %8s %8sms %8sms %9.1f %9d %9d %9d %7d",
+                        mode, clients, Long.parseLong(result[1]) / (double) duration.toMillis() * 1000, result[2],
+                        result[3], result[4], result[5], result[6],
+                        samples.stream().mapToInt(sample -> sample[0]).average().orElse(0), max(samples, 0),
+                        max(samples, 1), max(samples, 2), max(samples, 3)));
+            }
+        }
+
+        System.out.println();
+        System.out.println("Java " + Runtime.version() + ", " + Runtime.getRuntime().availableProcessors() + " CPUs, "
+                + updatesPerSecond + " battery changes/s over " + DRONES + " drones, poll interval " + interval
+                + ", warmup " + warmup + ", measured " + duration + ". Threads are the application JVM only.");
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DronesApplication.class)
+                .properties("spring.main.banner-mode=off", "logging.level.root=warn", "server.port=0",
+                        "drones.alerts.log=false", "drones.long-poll.max-waiters=50000")
+                .run();
+
+        context.getBeansOfType(ScheduledTaskHolder.class).values()
+                .forEach(holder -> holder.getScheduledTasks().forEach(ScheduledTask::cancel));
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        context.getBean(FleetRegistrationService.class).registerFleet(IntStream.rangeClosed(1, DRONES)
+                .mapToObj(i -> new DroneRequest("POLL-" + i, Model.LIGHT_WEIGHT, 500, 100, State.IDLE))
+                .toList(), RegistrationMode.ALL_OR_NOTHING);
+    }
+
+    /**
+     * Samples {busy request threads, open connections, live JVM threads, active JDBC connections} every 200ms
+     * of the measured window.
+     */
+    private static List<int[]> sample(ConfigurableApplicationContext context, long measureFrom, long measureUntil)
+            throws InterruptedException {
+        ProtocolHandler protocolHandler = ((TomcatWebServer) ((ServletWebServerApplicationContext) context)
+                .getWebServer()).getTomcat().getConnector().getProtocolHandler();
+        HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+
+        Thread.sleep(Math.max(measureFrom - System.currentTimeMillis(), 0));
+        List<int[]> samples = new ArrayList<>();
+        while (System.currentTimeMillis() < measureUntil) {
+            samples.add(new int[]{
+                    ((ThreadPoolExecutor) protocolHandler.getExecutor()).getActiveCount(),
+                    (int) ((AbstractProtocol<?>) protocolHandler).getConnectionCount(),
+                    ManagementFactory.getThreadMXBean().getThreadCount(),
+                    dataSource.getHikariPoolMXBean().getActiveConnections()});
+            Thread.sleep(200);
+        }
+        return samples;
+    }
+
+    private static int max(List<int[]> samples, int column) {
+        return samples.stream().mapToInt(sample -> sample[column]).max().orElse(0);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        return Arrays.stream(args)
+                .map(arg -> arg.split("=", 2))
+                .collect(Collectors.toMap(option -> option[0], option -> option[1]));
+    }
+
+    /**
+     * The client side, run in its own JVM. Prints one {@code RESULT requests errors writes changes p50 p99}
+     * line.
+     */
+    public static final class Clients {
+
+        private static final Pattern BATTERY = Pattern.compile("\"batteryCapacity\":(\\d+)");
+
+        private final boolean longPoll;
+        private final int clients;
+        private final int updatesPerSecond;
+        private final Duration interval;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final long rampUntil;
+        private final String baseUrl;
+
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        private final ScheduledExecutorService updater = Executors.newSingleThreadScheduledExecutor();
+
+        //Nanos of the last change per drone and its level, index is the serial number suffix
+        private final AtomicLongArray changedAt = new AtomicLongArray(DRONES + 1);
+        private final int[] levels = new int[DRONES + 1];
+        private final ConcurrentLinkedQueue<Long> seen = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong writes = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final CountDownLatch done;
+
+        private Clients(Map<String, String> options) {
+            //Wall clock windows agreed with the application JVM, measured here on the nano clock
+            long nanosAtEpoch = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+            this.longPoll = Boolean.parseBoolean(options.get("longPoll"));
+            this.clients = Integer.parseInt(options.get("clients"));
+            this.updatesPerSecond = Integer.parseInt(options.get("updates"));
+            this.interval = Duration.parse(options.get("interval"));
+            this.measureFrom = nanosAtEpoch + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.get("measureFrom")));
+            this.measureUntil = nanosAtEpoch + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.get("measureUntil")));
+            this.rampUntil = nanosAtEpoch + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.get("rampUntil")));
+            this.baseUrl = "http://localhost:" + options.get("port");
+            this.done = new CountDownLatch(clients);
+            Arrays.fill(levels, 100);
+        }
+
+        public static void main(String[] args) throws InterruptedException {
+            new Clients(parseOptions(args)).execute();
+        }
+
+        private void execute() throws InterruptedException {
+            updater.scheduleAtFixedRate(this::changeBatteryLevel, 0, 1_000_000 / updatesPerSecond,
+                    TimeUnit.MICROSECONDS);
+            long rampNanos = Math.max(rampUntil - System.nanoTime(), 0);
+            for (int client = 0; client < clients; client++) {
+                int drone = client % DRONES + 1;
+                scheduler.schedule(() -> poll(drone, -1), rampNanos / clients * client, TimeUnit.NANOSECONDS);
+            }
+
+            done.await();
+            updater.shutdownNow();
+            scheduler.shutdownNow();
+
+            long[] sorted = seen.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%s %d %d %d %d %.0f %.0f%n", RESULT, requests.get(), errors.get(), writes.get(),
+                    sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.99));
+            System.exit(0);
+        }
+
+        private void changeBatteryLevel() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int drone = random.nextInt(1, DRONES + 1);
+            int level;
+            do {
+                level = random.nextInt(26, 100);
+            } while (level == levels[drone]);
+            levels[drone] = level;
+
+            //Stamped before the write, long polls are answered as soon as it commits. Sent one at a time like a
+            //single telemetry feed, so a slow write delays the next one instead of piling up request threads
+            changedAt.set(drone, System.nanoTime());
+            try {
+                HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/api/v1/drones/POLL-" + drone))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"batteryCapacity\":" + level + "}"))
+                        .timeout(Duration.ofSeconds(30))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400)
+                    errors.incrementAndGet();
+                else if (System.nanoTime() >= measureFrom && System.nanoTime() < measureUntil)
+                    writes.incrementAndGet();
+            } catch (IOException ex) {
+                errors.incrementAndGet();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void poll(int drone, int knownLevel) {
+            long now = System.nanoTime();
+            if (now >= measureUntil) {
+                done.countDown();
+                return;
+            }
+
+            String url = baseUrl + "/api/v1/drones/POLL-" + drone + "/battery-level";
+            Duration timeout = Duration.ofSeconds(30);
+            if (longPoll && knownLevel >= 0) {
+                long waitMillis = Math.max(1_000, Math.min(25_000, (measureUntil - now) / 1_000_000));
+                url += "?ifChangedFrom=" + knownLevel + "&wait=PT" + waitMillis / 1000.0 + "S";
+                timeout = timeout.plusMillis(waitMillis);
+            }
+
+            httpClient.sendAsync(HttpRequest.newBuilder(URI.create(url)).timeout(timeout).build(),
+                            HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, ex) -> {
+                        boolean measured = now >= measureFrom;
+                        if (measured)
+                            requests.incrementAndGet();
+
+                        int level = knownLevel;
+                        if (ex != null || response.statusCode() >= 400) {
+                            if (measured)
+                                errors.incrementAndGet();
+                        } else if (response.statusCode() == 200) {
+                            Matcher matcher = BATTERY.matcher(response.body());
+                            level = matcher.find() ? Integer.parseInt(matcher.group(1)) : knownLevel;
+                        }
+
+                        long received = System.nanoTime();
+                        long changed = changedAt.get(drone);
+                        if (knownLevel >= 0 && level != knownLevel && changed >= measureFrom && received < measureUntil)
+                            seen.add(received - changed);
+
+                        int nextKnown = level;
+                        if (longPoll && ex == null)
+                            poll(drone, nextKnown);
+                        else
+                            scheduler.schedule(() -> poll(drone, nextKnown), interval.toMillis(),
+                                    TimeUnit.MILLISECONDS);
+                    });
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0)
+                return Double.NaN;
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.musalasoft.drones.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictRetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConflictRetry conflictRetryUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        ConflictRetryProperties properties = new ConflictRetryProperties();
+        properties.setBackoff(Duration.ofMillis(1));
+        meterRegistry = new SimpleMeterRegistry();
+        conflictRetryUnderTest = new ConflictRetry(properties, TransactionOperations.withoutTransaction(), meterRegistry);
+    }
+
+    @Test
+    void testExecute_RetriesConflict() {
+        // Setup
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Run the test
+        final String result = conflictRetryUnderTest.execute(status -> {
+            if (attempts.incrementAndGet() < 3)
+                throw new ObjectOptimisticLockingFailureException("Drone", 1L);
+            return "loaded";
+        });
+
+        // Verify the results
+        assertThat(result).isEqualTo("loaded");
+        assertThat(meterRegistry.counter("drones.conflict.retries").count()).isEqualTo(2);
+    }
+
+    @Test
+    void testExecute_GivesUpAfterMaxAttempts() {
+        // Setup
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Run the test
+        assertThatThrownBy(() -> conflictRetryUnderTest.execute(status -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Drone", 1L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        // Verify the results
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.counter("drones.conflict.exhausted").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testExecute_DoesNotRetryOtherFailures() {
+        // Setup
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // Run the test
+        assertThatThrownBy(() -> conflictRetryUnderTest.execute(status -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Verify the results
+        assertThat(attempts).hasValue(1);
+    }
+
+}
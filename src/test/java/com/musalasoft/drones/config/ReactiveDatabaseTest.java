@@ -0,0 +1,75 @@
+package com.musalasoft.drones.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ReactiveDatabaseTest {
+
+    @Test
+    void testOptions_DerivedFromHikari() {
+        // Setup
+        final ReactiveDatabaseProperties properties = new ReactiveDatabaseProperties();
+        properties.setUsername("ignored");
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:drones;DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            dataSource.setPassword("secret");
+
+            // Run the test
+            final ConnectionFactoryOptions result = ReactiveDatabase.options(properties, dataSource);
+
+            // Verify the results
+            assertThat(result.getValue(ConnectionFactoryOptions.DRIVER)).isEqualTo("h2");
+            assertThat(result.getValue(ConnectionFactoryOptions.DATABASE)).isEqualTo("drones");
+            assertThat(result.getValue(ConnectionFactoryOptions.USER)).isEqualTo("sa");
+            assertThat(result.getValue(ConnectionFactoryOptions.PASSWORD)).hasToString("secret");
+        }
+    }
+
+    @Test
+    void testOptions_ExplicitUrlWithoutHikari() {
+        // Setup
+        final ReactiveDatabaseProperties properties = new ReactiveDatabaseProperties();
+        properties.setUrl("r2dbc:postgresql://db:5432/drones");
+        properties.setUsername("drones");
+        properties.setPassword("secret");
+
+        // Run the test
+        final ConnectionFactoryOptions result = ReactiveDatabase.options(properties, mock(DataSource.class));
+
+        // Verify the results
+        assertThat(result.getValue(ConnectionFactoryOptions.HOST)).isEqualTo("db");
+        assertThat(result.getValue(ConnectionFactoryOptions.USER)).isEqualTo("drones");
+        assertThat(result.getValue(ConnectionFactoryOptions.PASSWORD)).hasToString("secret");
+    }
+
+    @Test
+    void testOptions_CredentialsInTheUrlWin() {
+        // Setup
+        final ReactiveDatabaseProperties properties = new ReactiveDatabaseProperties();
+        properties.setUrl("r2dbc:postgresql://reader:pass@db:5432/drones");
+        properties.setUsername("drones");
+
+        // Run the test
+        final ConnectionFactoryOptions result = ReactiveDatabase.options(properties, mock(DataSource.class));
+
+        // Verify the results
+        assertThat(result.getValue(ConnectionFactoryOptions.USER)).isEqualTo("reader");
+        assertThat(result.getValue(ConnectionFactoryOptions.PASSWORD)).hasToString("pass");
+    }
+
+    @Test
+    void testOptions_NoUrlWithoutHikari() {
+        assertThatThrownBy(() -> ReactiveDatabase.options(new ReactiveDatabaseProperties(), mock(DataSource.class)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("drones.reactive.url");
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.musalasoft.drones.config;
+
+import com.musalasoft.drones.events.TelemetryProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyFilterTest {
+
+    private HikariDataSource dataSource;
+
+    private RequestConcurrencyFilter requestConcurrencyFilterUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        //Never connects, only its configured pool size is read
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(40);
+        TelemetryProperties telemetryProperties = new TelemetryProperties();
+        telemetryProperties.setParallelism(4);
+        requestConcurrencyFilterUnderTest = new RequestConcurrencyFilter(new RequestConcurrencyProperties(),
+                telemetryProperties, dataSource, new MockEnvironment(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testMaxRequests_LeavesSweepConnections() {
+        assertThat(requestConcurrencyFilterUnderTest.maxRequests()).isEqualTo(32);
+    }
+
+    @Test
+    void testShouldNotFilter_ReadsServedFromMemory() {
+        assertThat(requestConcurrencyFilterUnderTest.shouldNotFilter(
+                new MockHttpServletRequest("GET", "/api/v1/drones/available"))).isTrue();
+        assertThat(requestConcurrencyFilterUnderTest.shouldNotFilter(
+                new MockHttpServletRequest("GET", "/api/v1/drones/DR-25/battery-level"))).isTrue();
+        assertThat(requestConcurrencyFilterUnderTest.shouldNotFilter(
+                new MockHttpServletRequest("GET", "/actuator/health"))).isTrue();
+    }
+
+    @Test
+    void testShouldNotFilter_DatabaseRequestsAreLimited() {
+        assertThat(requestConcurrencyFilterUnderTest.shouldNotFilter(
+                new MockHttpServletRequest("GET", "/api/v1/drones/DR-25/capacity"))).isFalse();
+        assertThat(requestConcurrencyFilterUnderTest.shouldNotFilter(
+                new MockHttpServletRequest("PUT", "/api/v1/drones/DR-25"))).isFalse();
+        assertThat(requestConcurrencyFilterUnderTest.shouldNotFilter(
+                new MockHttpServletRequest("GET", "/api/v1/medication"))).isFalse();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailableDronePoolTest {
+
+    @Mock
+    private DroneRepository mockDroneRepository;
+
+    private AvailableDronePool availableDronePoolUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        availableDronePoolUnderTest = new AvailableDronePool(mockDroneRepository);
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 100, 90),
+                new AvailableDrone(2L, "DR-2", Model.LIGHT_WEIGHT, 300, 40),
+                new AvailableDrone(3L, "DR-3", Model.HEAVY_WEIGHT, 500, 60),
+                new AvailableDrone(4L, "DR-4", Model.HEAVY_WEIGHT, 450, 20)));
+        availableDronePoolUnderTest.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void testFind() {
+        // Run the test
+        final List<AvailableDrone> result = availableDronePoolUnderTest.find(null, 0, 0);
+
+        // Verify the results
+        assertThat(result).extracting(AvailableDrone::serialNumber).containsExactly("DR-1", "DR-3", "DR-2", "DR-4");
+    }
+
+    @Test
+    void testFind_FilteredByModel() {
+        // Run the test
+        final List<AvailableDrone> result = availableDronePoolUnderTest.find(Model.HEAVY_WEIGHT, 0, 0);
+
+        // Verify the results
+        assertThat(result).extracting(AvailableDrone::serialNumber).containsExactly("DR-3", "DR-4");
+    }
+
+    @Test
+    void testFind_FilteredByBatteryAndWeight() {
+        // Run the test
+        final List<AvailableDrone> result = availableDronePoolUnderTest.find(null, 25, 250);
+
+        // Verify the results
+        assertThat(result).extracting(AvailableDrone::serialNumber).containsExactly("DR-3", "DR-2");
+    }
+
+    @Test
+    void testUpdate_DroneLeavesIdle() {
+        // Run the test
+        availableDronePoolUnderTest.update(new Drone(1L, null, "DR-1", Model.LIGHT_WEIGHT, 100, 0, 0, 90, State.LOADED,
+                LocalDateTime.of(2020, 1, 1, 0, 0, 0), null));
+
+        // Verify the results
+        assertThat(availableDronePoolUnderTest.find(null, 0, 0))
+                .extracting(AvailableDrone::serialNumber).containsExactly("DR-3", "DR-2", "DR-4");
+    }
+
+    @Test
+    void testUpdate_BatteryChangeReordersDrone() {
+        // Run the test
+        availableDronePoolUnderTest.update(new Drone(4L, null, "DR-4", Model.HEAVY_WEIGHT, 450, 0, 0, 100, State.IDLE,
+                LocalDateTime.of(2020, 1, 1, 0, 0, 0), null));
+
+        // Verify the results
+        assertThat(availableDronePoolUnderTest.find(Model.HEAVY_WEIGHT, 0, 0))
+                .extracting(AvailableDrone::serialNumber).containsExactly("DR-4", "DR-3");
+    }
+
+    @Test
+    void testUpdate_ModelChangeMovesDrone() {
+        // Run the test
+        availableDronePoolUnderTest.update(new Drone(2L, null, "DR-2", Model.MIDDLE_WEIGHT, 300, 0, 0, 40, State.IDLE,
+                LocalDateTime.of(2020, 1, 1, 0, 0, 0), null));
+
+        // Verify the results
+        assertThat(availableDronePoolUnderTest.find(Model.LIGHT_WEIGHT, 0, 0))
+                .extracting(AvailableDrone::serialNumber).containsExactly("DR-1");
+        assertThat(availableDronePoolUnderTest.find(Model.MIDDLE_WEIGHT, 0, 0))
+                .extracting(AvailableDrone::serialNumber).containsExactly("DR-2");
+    }
+
+    @Test
+    void testClaimSmallestFitting() {
+        // Run the test
+        final Optional<AvailableDrone> result = availableDronePoolUnderTest.claimSmallestFitting(250, 25);
+
+        // Verify the results
+        assertThat(result).map(AvailableDrone::serialNumber).contains("DR-2");
+        assertThat(availableDronePoolUnderTest.find(null, 0, 0))
+                .extracting(AvailableDrone::serialNumber).containsExactly("DR-1", "DR-3", "DR-4");
+    }
+
+    @Test
+    void testClaimSmallestFitting_SkipsLowBattery() {
+        // Run the test
+        final Optional<AvailableDrone> result = availableDronePoolUnderTest.claimSmallestFitting(400, 25);
+
+        // Verify the results
+        assertThat(result).map(AvailableDrone::serialNumber).contains("DR-3");
+    }
+
+    @Test
+    void testClaimSmallestFitting_NothingFits() {
+        // Run the test
+        final Optional<AvailableDrone> result = availableDronePoolUnderTest.claimSmallestFitting(600, 25);
+
+        // Verify the results
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testRelease() {
+        // Setup
+        final AvailableDrone claimed = availableDronePoolUnderTest.claimSmallestFitting(50, 25).orElseThrow();
+
+        // Run the test
+        availableDronePoolUnderTest.release(claimed);
+
+        // Verify the results
+        assertThat(availableDronePoolUnderTest.claimSmallestFitting(50, 25)).contains(claimed);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.BatteryLevelResponse;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.exceptions.DataNotFoundException;
+import com.musalasoft.drones.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatteryLevelWatchTest {
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Mock
+    private DroneService mockDroneService;
+
+    private BatteryLevelWatch batteryLevelWatchUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        DroneLongPollProperties properties = new DroneLongPollProperties();
+        properties.setMaxWaiters(2);
+        batteryLevelWatchUnderTest = new BatteryLevelWatch(mockDroneService, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testAwait_AnswersAtOnceWhenLevelAlreadyChanged() {
+        // Setup
+        when(mockDroneService.getDroneBatteryLevel("DR-25")).thenReturn(new BatteryLevelResponse("DR-25", 60));
+
+        // Run the test
+        DeferredResult<ResponseEntity<BatteryLevelResponse>> result =
+                batteryLevelWatchUnderTest.await("DR-25", 80, Duration.ofSeconds(25));
+
+        // Verify the results
+        assertThat(result.getResult()).isEqualTo(ResponseEntity.ok(new BatteryLevelResponse("DR-25", 60)));
+    }
+
+    @Test
+    void testAwait_ParkedUntilBatteryLevelChanges() {
+        // Setup
+        when(mockDroneService.getDroneBatteryLevel("DR-25")).thenReturn(new BatteryLevelResponse("DR-25", 80));
+        DeferredResult<ResponseEntity<BatteryLevelResponse>> result =
+                batteryLevelWatchUnderTest.await("DR-25", 80, Duration.ofSeconds(25));
+
+        // Run the test
+        batteryLevelWatchUnderTest.onDroneChanged(new DroneChangedEvent("DR-25", State.LOADING, null, now));
+        batteryLevelWatchUnderTest.onDroneChanged(new DroneChangedEvent("DR-25", State.IDLE, 80, now));
+        batteryLevelWatchUnderTest.onDroneChanged(new DroneChangedEvent("DR-26", State.IDLE, 50, now));
+        assertThat(result.hasResult()).isFalse();
+        batteryLevelWatchUnderTest.onDroneChanged(new DroneChangedEvent("DR-25", State.IDLE, 70, now));
+
+        // Verify the results
+        assertThat(result.getResult()).isEqualTo(ResponseEntity.ok(new BatteryLevelResponse("DR-25", 70)));
+    }
+
+    @Test
+    void testAwait_RefusesAboveLimit() {
+        // Setup
+        when(mockDroneService.getDroneBatteryLevel("DR-25")).thenReturn(new BatteryLevelResponse("DR-25", 80));
+        batteryLevelWatchUnderTest.await("DR-25", 80, Duration.ofSeconds(25));
+        batteryLevelWatchUnderTest.await("DR-25", 80, Duration.ofSeconds(25));
+
+        // Run the test / Verify the results
+        assertThatThrownBy(() -> batteryLevelWatchUnderTest.await("DR-25", 80, Duration.ofSeconds(25)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(batteryLevelWatchUnderTest.waitingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testAwait_UnknownDroneIsNotParked() {
+        // Setup
+        when(mockDroneService.getDroneBatteryLevel("DR-404")).thenThrow(new DataNotFoundException("Drone not found"));
+
+        // Run the test / Verify the results
+        assertThatThrownBy(() -> batteryLevelWatchUnderTest.await("DR-404", 80, Duration.ofSeconds(25)))
+                .isInstanceOf(DataNotFoundException.class);
+        assertThat(batteryLevelWatchUnderTest.waitingCount()).isZero();
+    }
+
+}
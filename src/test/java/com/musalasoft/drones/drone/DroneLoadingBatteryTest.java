@@ -0,0 +1,84 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.DroneUpdateRequest;
+import com.musalasoft.drones.drone.dtos.LoadingRequest;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.drone.enums.Transition;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import com.musalasoft.drones.medication.MedicationService;
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The 25% battery floor enforced by the conditional updates against the real database, for every path that can
+ * put items on a drone.
+ */
+@SpringBootTest
+class DroneLoadingBatteryTest {
+
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private DroneStateMachine droneStateMachine;
+    @Autowired
+    private DroneRepository droneRepository;
+    @Autowired
+    private MedicationService medicationService;
+
+    @Test
+    void testStartLoadingRefusedBelowMinimumBattery() {
+        // Setup
+        droneService.createDrone(new DroneRequest("BAT-10", Model.LIGHT_WEIGHT, 300, 10, State.IDLE));
+
+        // Run the test
+        assertThatThrownBy(() -> droneStateMachine.apply("BAT-10", Transition.START_LOADING))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("below 25%");
+
+        // Verify the results
+        assertThat(droneRepository.findDroneStateBySerialNumber("BAT-10")).contains(State.IDLE);
+    }
+
+    @Test
+    void testStartLoadingAllowedAtMinimumBattery() {
+        // Setup
+        droneService.createDrone(new DroneRequest("BAT-25", Model.LIGHT_WEIGHT, 300, 25, State.IDLE));
+
+        // Run the test
+        droneStateMachine.apply("BAT-25", Transition.START_LOADING);
+
+        // Verify the results
+        assertThat(droneRepository.findDroneStateBySerialNumber("BAT-25")).contains(State.LOADING);
+    }
+
+    @Test
+    void testItemsRefusedOnceBatteryDrainsWhileLoading() {
+        // Setup
+        droneService.createDrone(new DroneRequest("BAT-DRAIN", Model.LIGHT_WEIGHT, 300, 80, State.IDLE));
+        medicationService.addMedication(new MedicationRequest("MED", 100, "BAT_DRAIN_1", null));
+        droneStateMachine.apply("BAT-DRAIN", Transition.START_LOADING);
+        droneService.updateDroneProperties("BAT-DRAIN", new DroneUpdateRequest(null, null, 10));
+
+        // Run the test
+        assertThatThrownBy(() -> droneService.addItems("BAT-DRAIN", new LoadingRequest(Set.of("BAT_DRAIN_1"))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("below 25%");
+        assertThatThrownBy(() -> droneStateMachine.apply("BAT-DRAIN", Transition.FINISH_LOADING))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("below 25%");
+
+        // Verify the results
+        assertThat(droneRepository.findCapacity("BAT-DRAIN").orElseThrow().itemCount()).isZero();
+        assertThat(droneRepository.findDroneStateBySerialNumber("BAT-DRAIN")).contains(State.LOADING);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.LoadingRequest;
+import com.musalasoft.drones.events.TelemetryBenchmarkSupport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load then unload throughput of {@link DroneService}, each thread on its own drones and medications
+ * (uncontended) or all threads racing for the same few (contended).
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark=DroneLoadingBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class DroneLoadingBenchmark {
+
+    private static final int DRONES_PER_THREAD = 10;
+    private static final int MEDICATIONS_PER_THREAD = 30;
+    private static final int CONTENDED_DRONES = 4;
+    private static final int CONTENDED_MEDICATIONS = 12;
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        private ConfigurableApplicationContext context;
+        private DroneService droneService;
+        private TransactionTemplate transactionTemplate;
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void startApplication() {
+            context = TelemetryBenchmarkSupport.startApplication();
+            droneService = context.getBean(DroneService.class);
+            transactionTemplate = context.getBean(TransactionTemplate.class);
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TelemetryBenchmarkSupport.seedDrones(jdbcTemplate, 1_000);
+            List<Object[]> rows = new ArrayList<>();
+            for (int id = 1; id <= 1_000; id++)
+                rows.add(new Object[]{id, "MED-" + id, 10, "MDC_" + id});
+            jdbcTemplate.batchUpdate("insert into medication (medication_id, medication_name, weight, available, code) " +
+                    "values (?, ?, ?, true, ?)", rows);
+        }
+
+        @TearDown(Level.Trial)
+        public void stopApplication() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Slice {
+
+        private int firstDrone;
+        private int firstMedication;
+
+        @Setup(Level.Trial)
+        public void assign(Application application) {
+            int thread = application.threads.getAndIncrement();
+            firstDrone = 100 + thread * DRONES_PER_THREAD;
+            firstMedication = 100 + thread * MEDICATIONS_PER_THREAD;
+        }
+    }
+
+    @Benchmark
+    public boolean uncontended(Application application, Slice slice) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return loadAndUnload(application,
+                "DR-" + (slice.firstDrone + random.nextInt(DRONES_PER_THREAD)),
+                slice.firstMedication, MEDICATIONS_PER_THREAD);
+    }
+
+    @Benchmark
+    public boolean contended(Application application) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return loadAndUnload(application, "DR-" + (1 + random.nextInt(CONTENDED_DRONES)),
+                1, CONTENDED_MEDICATIONS);
+    }
+
+    /**
+     * Unloading reads the lazy medication set, so it runs in a transaction as it would under open-in-view.
+     */
+    private static boolean loadAndUnload(Application application, String serialNumber,
+                                         int firstMedication, int medications) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 3; i++)
+            codes.add("MDC_" + (firstMedication + random.nextInt(medications)));
+        try {
+            application.droneService.loadDrone(new LoadingRequest(codes), serialNumber);
+            application.transactionTemplate.executeWithoutResult(
+                    status -> application.droneService.unloadDrone(serialNumber));
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.DroneCapacityResponse;
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.dtos.LoadingRequest;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.drone.enums.Transition;
+import com.musalasoft.drones.exceptions.DataNotFoundException;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import com.musalasoft.drones.medication.Medication;
+import com.musalasoft.drones.medication.MedicationRepository;
+import com.musalasoft.drones.medication.MedicationService;
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+import com.musalasoft.drones.medication.dtos.MedicationSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads loading the same drones and medications at once against the real database. Every load either
+ * wins outright or is rejected, nothing is ever booked twice.
+ */
+@SpringBootTest
+class DroneLoadingContentionTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private DroneStateMachine droneStateMachine;
+    @Autowired
+    private DroneRepository droneRepository;
+    @Autowired
+    private MedicationService medicationService;
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Test
+    void testConcurrentLoadsOfOneDrone() throws Exception {
+        // Setup
+        createDrone("HOT-DRONE");
+        IntStream.range(0, THREADS).forEach(i -> createMedication("HOT_DRONE_" + i));
+
+        // Run the test
+        final List<DroneView> loaded = race(THREADS, i -> () -> droneService.loadDrone(
+                new LoadingRequest(Set.of("HOT_DRONE_" + i)), "HOT-DRONE"));
+
+        // Verify the results
+        assertThat(loaded).hasSize(1);
+        final Set<String> winner = codes(loaded.get(0));
+        assertThat(codes(droneRepository.findWithMedicationsBySerialNumber("HOT-DRONE").orElseThrow().getMedications()))
+                .isEqualTo(winner);
+        IntStream.range(0, THREADS).mapToObj(i -> "HOT_DRONE_" + i)
+                .forEach(code -> assertThat(medicationRepository.findMedicationByCode(code).orElseThrow().isAvailable())
+                        .isEqualTo(!winner.contains(code)));
+    }
+
+    @Test
+    void testConcurrentLoadsOfOneMedication() throws Exception {
+        // Setup
+        IntStream.range(0, THREADS).forEach(i -> createDrone("HOT-MED-" + i));
+        createMedication("HOT_MEDICATION");
+
+        // Run the test
+        final List<DroneView> loaded = race(THREADS, i -> () -> droneService.loadDrone(
+                new LoadingRequest(Set.of("HOT_MEDICATION")), "HOT-MED-" + i));
+
+        // Verify the results
+        assertThat(loaded).hasSize(1);
+        assertThat(medicationRepository.findMedicationByCode("HOT_MEDICATION").orElseThrow().isAvailable()).isFalse();
+        final long loadedInDatabase = IntStream.range(0, THREADS)
+                .mapToObj(i -> droneRepository.findBySerialNumber("HOT-MED-" + i).orElseThrow())
+                .filter(drone -> drone.getDroneState() == State.LOADED)
+                .count();
+        assertThat(loadedInDatabase).isEqualTo(1);
+    }
+
+    @Test
+    void testRandomLoadsNeverDoubleBook() throws Exception {
+        // Setup
+        IntStream.range(0, 8).forEach(i -> createDrone("MIXED-" + i));
+        IntStream.range(0, 24).forEach(i -> createMedication("MIXED_" + i));
+
+        // Run the test
+        final List<DroneView> loaded = race(THREADS * 10, i -> () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Set<String> codes = new HashSet<>();
+            for (int item = 0; item < 3; item++)
+                codes.add("MIXED_" + random.nextInt(24));
+            return droneService.loadDrone(new LoadingRequest(codes), "MIXED-" + random.nextInt(8));
+        });
+
+        // Verify the results
+        assertThat(loaded).extracting(DroneView::serialNumber).doesNotHaveDuplicates();
+        final List<String> bookedCodes = loaded.stream().flatMap(drone -> codes(drone).stream()).toList();
+        assertThat(bookedCodes).doesNotHaveDuplicates();
+        for (DroneView drone : loaded) {
+            assertThat(codes(droneRepository.findWithMedicationsBySerialNumber(drone.serialNumber()).orElseThrow()
+                    .getMedications())).isEqualTo(codes(drone));
+            assertThat(droneRepository.findCapacity(drone.serialNumber()).orElseThrow().currentPayloadGrams())
+                    .isEqualTo(10 * drone.medications().size());
+        }
+    }
+
+    @Test
+    void testConcurrentItemAddsNeverOverload() throws Exception {
+        // Setup
+        createDrone("ITEMS-DRONE");
+        droneStateMachine.apply("ITEMS-DRONE", Transition.START_LOADING);
+        IntStream.range(0, THREADS).forEach(i -> medicationService.addMedication(
+                new MedicationRequest("MED", 100, "ITEMS_" + i, null)));
+
+        // Run the test
+        final List<DroneCapacityResponse> added = race(THREADS, i -> () -> {
+            try {
+                return droneService.addItems("ITEMS-DRONE", new LoadingRequest(Set.of("ITEMS_" + i)));
+            } catch (InvalidRequestException ex) {
+                return null;
+            }
+        });
+
+        // Verify the results
+        assertThat(added).isNotEmpty().hasSizeLessThanOrEqualTo(5);
+        final Drone drone = droneRepository.findWithMedicationsBySerialNumber("ITEMS-DRONE").orElseThrow();
+        assertThat(drone.getMedications()).hasSize(added.size());
+        assertThat(drone.getCurrentPayloadGrams()).isEqualTo(100 * added.size());
+        assertThat(drone.getItemCount()).isEqualTo(added.size());
+    }
+
+    /**
+     * Starts all tasks together and returns the results of those that won. Losing a race must surface as
+     * not-available or as a conflict, anything else fails the test.
+     */
+    private static <T> List<T> race(int tasks, IntFunction<Callable<T>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                Callable<T> load = task.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return load.call();
+                    } catch (DataNotFoundException | ConcurrencyFailureException ex) {
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<T> loaded = new ArrayList<>();
+            for (Future<T> future : futures) {
+                T result = future.get(60, TimeUnit.SECONDS);
+                if (result != null)
+                    loaded.add(result);
+            }
+            return loaded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void createDrone(String serialNumber) {
+        droneService.createDrone(new DroneRequest(serialNumber, Model.HEAVY_WEIGHT, 500, 100, State.IDLE));
+    }
+
+    private void createMedication(String code) {
+        medicationService.addMedication(new MedicationRequest("MED", 10, code, null));
+    }
+
+    private static Set<String> codes(Set<Medication> medications) {
+        return medications.stream().map(Medication::getCode).collect(Collectors.toSet());
+    }
+
+    private static Set<String> codes(DroneView drone) {
+        return drone.medications().stream().map(MedicationSummary::code).collect(Collectors.toSet());
+    }
+
+}
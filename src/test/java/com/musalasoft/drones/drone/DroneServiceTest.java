@@ -1,8 +1,17 @@
 package com.musalasoft.drones.drone;
 
+import com.musalasoft.drones.config.ConflictRetry;
+import com.musalasoft.drones.config.ConflictRetryProperties;
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
 import com.musalasoft.drones.drone.dtos.BatteryLevelResponse;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import com.musalasoft.drones.drone.dtos.DroneCapacityResponse;
+import com.musalasoft.drones.drone.dtos.DroneIdRange;
+import com.musalasoft.drones.drone.dtos.DroneLoad;
 import com.musalasoft.drones.drone.dtos.DroneRequest;
 import com.musalasoft.drones.drone.dtos.DroneUpdateRequest;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.dtos.LoadingPlan;
 import com.musalasoft.drones.drone.dtos.LoadingRequest;
 import com.musalasoft.drones.drone.enums.Model;
 import com.musalasoft.drones.drone.enums.State;
@@ -11,21 +20,30 @@ import com.musalasoft.drones.exceptions.DuplicateRecordException;
 import com.musalasoft.drones.exceptions.InvalidRequestException;
 import com.musalasoft.drones.medication.Medication;
 import com.musalasoft.drones.medication.MedicationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,23 +57,33 @@ class DroneServiceTest {
     @Mock
     private DroneMapper mockMapper;
 
+    private DroneStateCache droneStateCache;
+
+    private AvailableDronePool availableDronePool;
+
     private DroneService droneServiceUnderTest;
 
     @BeforeEach
     void setUp() {
-        droneServiceUnderTest = new DroneService(mockDroneRepository, mockMedicationService, mockMapper);
+        droneStateCache = new DroneStateCache(new DroneCacheProperties(), new SimpleMeterRegistry());
+        availableDronePool = new AvailableDronePool(mockDroneRepository);
+        droneServiceUnderTest = new DroneService(mockDroneRepository, mockMedicationService, mockMapper,
+                droneStateCache, availableDronePool, new LoadingPlanner(),
+                new ConflictRetry(new ConflictRetryProperties(), TransactionOperations.withoutTransaction(),
+                        new SimpleMeterRegistry()), event -> {
+        });
     }
 
     @Test
     void testCreateDrone() {
         // Setup
         final DroneRequest droneRequest = new DroneRequest("DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE);
-        final Drone expectedResult = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+        final Drone expectedResult = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
 
         // Configure DroneRepository.findBySerialNumber(...).
         final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 0, State.IDLE,
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 0, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0), null));
         when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(optionalDrone);
 
@@ -69,56 +97,56 @@ class DroneServiceTest {
     void testCreateDrone_DroneRepositoryFindBySerialNumberReturnsAbsent() {
         // Setup
         final DroneRequest droneRequest = new DroneRequest("DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE);
-        final Drone expectedResult = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+        final Drone expectedResult = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
         when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(Optional.empty());
 
         // Configure DroneRepository.save(...).
-        final Drone drone = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+        final Drone drone = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
 
         when(mockDroneRepository.save(any(Drone.class))).thenReturn(drone);
 
         // Run the test
-        final Drone result = droneServiceUnderTest.createDrone(droneRequest);
+        final DroneView result = droneServiceUnderTest.createDrone(droneRequest);
 
         // Verify the results
-        assertThat(result).isEqualTo(expectedResult);
+        assertThat(result).isEqualTo(DroneView.of(expectedResult));
     }
 
     @Test
     void testLoadDrone() {
         // Setup
         final LoadingRequest loadingRequest = new LoadingRequest(Set.of("MDC_32A"));
-        final Drone expectedResult = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+        final Drone expectedResult = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(1L, "GRAND-PA_32A", 0, false, "MDC_32A",
+                Set.of(new Medication(1L, null, "GRAND-PA_32A", 0, false, "MDC_32A",
                         "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null)));
 
         // Configure DroneRepository.findBySerialNumberAndDroneState(...).
         final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0), null));
         when(mockDroneRepository.findBySerialNumberAndDroneState("DR-25", State.IDLE)).thenReturn(optionalDrone);
 
         // Configure MedicationService.findAllAvailableByCodes(...).
-        final Set<Medication> medications =  Set.of(new Medication(1L, "GRAND-PA_32A", 0, false, "MDC_32A",
+        final Set<Medication> medications =  Set.of(new Medication(1L, null, "GRAND-PA_32A", 0, false, "MDC_32A",
                 "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null));
         when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(medications);
 
         // Configure DroneRepository.save(...).
-        final Drone drone = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+        final Drone drone = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(1L, "GRAND-PA_32A", 0, false, "MDC_32A",
+                Set.of(new Medication(1L, null, "GRAND-PA_32A", 0, false, "MDC_32A",
                         "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null)));
         when(mockDroneRepository.save(any(Drone.class))).thenReturn(drone);
 
         // Run the test
-        final Drone result = droneServiceUnderTest.loadDrone(loadingRequest, "DR-25");
+        final DroneView result = droneServiceUnderTest.loadDrone(loadingRequest, "DR-25");
 
         // Verify the results
-        assertThat(result).isEqualTo(expectedResult);
-        verify(mockMedicationService).updateMedicationAvailability(any(Set.class), any(Boolean.class));
+        assertThat(result).isEqualTo(DroneView.of(expectedResult));
+        verify(mockMedicationService).updateMedicationAvailability(medications, false, 1L);
     }
 
     @Test
@@ -128,7 +156,7 @@ class DroneServiceTest {
 
         // Configure DroneRepository.findBySerialNumberAndDroneState(...).
         final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 22, State.IDLE,
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 22, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0), null));
         when(mockDroneRepository.findBySerialNumberAndDroneState("DR-25", State.IDLE)).thenReturn(optionalDrone);
 
@@ -158,9 +186,9 @@ class DroneServiceTest {
 
         // Configure DroneRepository.findBySerialNumberAndDroneState(...).
         final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                        Set.of(new Medication(1L, "GRAND-PA_32A", 0, false, "MDC_32A",
+                        Set.of(new Medication(1L, null, "GRAND-PA_32A", 0, false, "MDC_32A",
                                 "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null))));
         when(mockDroneRepository.findBySerialNumberAndDroneState("DR-25", State.IDLE)).thenReturn(optionalDrone);
 
@@ -174,31 +202,163 @@ class DroneServiceTest {
     @Test
     void testUnloadDrone() {
         // Setup
-        final Drone expectedResult = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 0, 0, State.IDLE,
+        final Drone expectedResult = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 0, 0, 0, 0, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0),
                 Collections.emptySet());
 
         // Configure DroneRepository.findBySerialNumber(...).
         final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                        Set.of(new Medication(1L, "GRAND-PA_32A", 0, false, "MDC_32A",
+                        Set.of(new Medication(1L, null, "GRAND-PA_32A", 0, false, "MDC_32A",
                                 "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null))));
         when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(optionalDrone);
 
         // Configure DroneRepository.save(...).
-        final Drone drone = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 0, 0, State.IDLE,
+        final Drone drone = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 0, 0, 0, 0, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0),
                 Collections.emptySet());
         when(mockDroneRepository.save(any(Drone.class))).thenReturn(drone);
 
         // Run the test
-        final Drone result = droneServiceUnderTest.unloadDrone("DR-25");
+        final DroneView result = droneServiceUnderTest.unloadDrone("DR-25");
 
         // Verify the results
-        assertThat(result).isEqualTo(expectedResult);
-        verify(mockMedicationService).updateMedicationAvailability(
-                any(Set.class), any(Boolean.class));
+        assertThat(result).isEqualTo(DroneView.of(expectedResult));
+        verify(mockMedicationService).updateMedicationAvailability(anyCollection(), eq(true), isNull());
+    }
+
+    @Test
+    void testLoadDrone_MaintainsPayload() {
+        // Setup
+        when(mockDroneRepository.findBySerialNumberAndDroneState("DR-25", State.IDLE)).thenReturn(Optional.of(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), null)));
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A", "MDC_33A"))).thenReturn(Set.of(
+                new Medication(1L, null, "name", 100, true, "MDC_32A", "imageUrl", null),
+                new Medication(2L, null, "name", 50, true, "MDC_33A", "imageUrl", null)));
+        when(mockDroneRepository.save(any(Drone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Run the test
+        final DroneView result = droneServiceUnderTest.loadDrone(new LoadingRequest(Set.of("MDC_32A", "MDC_33A")), "DR-25");
+
+        // Verify the results
+        assertThat(result.currentPayloadGrams()).isEqualTo(150);
+        assertThat(result.itemCount()).isEqualTo(2);
+        assertThat(result.remainingCapacity()).isEqualTo(150);
+    }
+
+    @Test
+    void testUnloadDrone_ClearsPayload() {
+        // Setup
+        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(Optional.of(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 100, 1, 50, State.DELIVERING,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0),
+                        Set.of(new Medication(1L, null, "name", 100, false, "MDC_32A", "imageUrl", null)))));
+        when(mockDroneRepository.save(any(Drone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Run the test
+        final DroneView result = droneServiceUnderTest.unloadDrone("DR-25");
+
+        // Verify the results
+        assertThat(result.currentPayloadGrams()).isZero();
+        assertThat(result.itemCount()).isZero();
+        assertThat(result.remainingCapacity()).isEqualTo(300);
+    }
+
+    @Test
+    void testAddItems() {
+        // Setup
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "name", 120, true, "MDC_32A", "imageUrl", null));
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(medications);
+        when(mockDroneRepository.adjustPayload("DR-25", State.LOADING, 120, 1, 25)).thenReturn(1);
+        when(mockDroneRepository.findDroneIdBySerialNumber("DR-25")).thenReturn(Optional.of(1L));
+        when(mockDroneRepository.findCapacity("DR-25")).thenReturn(
+                Optional.of(new DroneCapacityResponse("DR-25", 300, 220, 2)));
+
+        // Run the test
+        final DroneCapacityResponse result = droneServiceUnderTest.addItems("DR-25", new LoadingRequest(Set.of("MDC_32A")));
+
+        // Verify the results
+        assertThat(result.remainingCapacity()).isEqualTo(80);
+        verify(mockMedicationService).updateMedicationAvailability(medications, false, 1L);
+        verify(mockDroneRepository, never()).save(any(Drone.class));
+    }
+
+    @Test
+    void testAddItems_AboveRemainingCapacity() {
+        // Setup
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(
+                Set.of(new Medication(1L, null, "name", 120, true, "MDC_32A", "imageUrl", null)));
+        when(mockDroneRepository.adjustPayload("DR-25", State.LOADING, 120, 1, 25)).thenReturn(0);
+        when(mockDroneRepository.findDroneStateBySerialNumber("DR-25")).thenReturn(Optional.of(State.LOADING));
+        when(mockDroneRepository.findCapacity("DR-25")).thenReturn(
+                Optional.of(new DroneCapacityResponse("DR-25", 300, 250, 2)));
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.addItems("DR-25", new LoadingRequest(Set.of("MDC_32A"))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("remaining capacity : 50g");
+        verify(mockMedicationService, never()).updateMedicationAvailability(any(), eq(false), any());
+    }
+
+    @Test
+    void testAddItems_BatteryBelowMinimum() {
+        // Setup
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(
+                Set.of(new Medication(1L, null, "name", 120, true, "MDC_32A", "imageUrl", null)));
+        when(mockDroneRepository.adjustPayload("DR-25", State.LOADING, 120, 1, 25)).thenReturn(0);
+        when(mockDroneRepository.findDroneStateBySerialNumber("DR-25")).thenReturn(Optional.of(State.LOADING));
+        when(mockDroneRepository.findBatteryCapacityBySerialNumber("DR-25")).thenReturn(Optional.of(10));
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.addItems("DR-25", new LoadingRequest(Set.of("MDC_32A"))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("below 25%");
+        verify(mockMedicationService, never()).updateMedicationAvailability(any(), eq(false), any());
+    }
+
+    @Test
+    void testAddItems_DroneNotLoading() {
+        // Setup
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(
+                Set.of(new Medication(1L, null, "name", 120, true, "MDC_32A", "imageUrl", null)));
+        when(mockDroneRepository.adjustPayload("DR-25", State.LOADING, 120, 1, 25)).thenReturn(0);
+        when(mockDroneRepository.findDroneStateBySerialNumber("DR-25")).thenReturn(Optional.of(State.IDLE));
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.addItems("DR-25", new LoadingRequest(Set.of("MDC_32A"))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("while it is LOADING");
+    }
+
+    @Test
+    void testRemoveItems() {
+        // Setup
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "name", 120, false, "MDC_32A", "imageUrl", null));
+        when(mockMedicationService.findLoadedByCodes(Set.of("MDC_32A"), "DR-25")).thenReturn(medications);
+        when(mockDroneRepository.adjustPayload("DR-25", State.LOADING, -120, -1, 0)).thenReturn(1);
+        when(mockDroneRepository.findDroneIdBySerialNumber("DR-25")).thenReturn(Optional.of(1L));
+        when(mockDroneRepository.findCapacity("DR-25")).thenReturn(
+                Optional.of(new DroneCapacityResponse("DR-25", 300, 0, 0)));
+
+        // Run the test
+        final DroneCapacityResponse result = droneServiceUnderTest.removeItems("DR-25", Set.of("MDC_32A"));
+
+        // Verify the results
+        assertThat(result.remainingCapacity()).isEqualTo(300);
+        verify(mockMedicationService).releaseFromDrone(medications, 1L);
+    }
+
+    @Test
+    void testRemoveItems_NothingLoaded() {
+        // Setup
+        when(mockMedicationService.findLoadedByCodes(Set.of("MDC_32A"), "DR-25")).thenReturn(Set.of());
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.removeItems("DR-25", Set.of("MDC_32A")))
+                .isInstanceOf(DataNotFoundException.class);
+        verify(mockDroneRepository, never()).adjustPayload(any(), any(), any(Integer.class), any(Integer.class), any(Integer.class));
     }
 
     @Test
@@ -215,26 +375,27 @@ class DroneServiceTest {
     void testUpdateDroneProperties() {
         // Setup
         final DroneUpdateRequest updateRequest = new DroneUpdateRequest(Model.LIGHT_WEIGHT, 300, 50);
-        final Drone expectedResult = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),null);
+        final Drone expectedResult = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
+                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
+                Set.of(new Medication(1L, null, "name", 0, false, "MDC_32A", "imageUrl", null)));
 
         // Configure DroneRepository.findBySerialNumber(...).
         final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0),null));
         when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(optionalDrone);
 
         // Configure DroneRepository.save(...).
-        final Drone drone = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50, State.IDLE,
+        final Drone drone = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl", null)));
+                Set.of(new Medication(1L, null, "name", 0, false, "MDC_32A", "imageUrl", null)));
         when(mockDroneRepository.save(any(Drone.class))).thenReturn(drone);
 
         // Run the test
-        final Drone result = droneServiceUnderTest.updateDroneProperties("DR-25", updateRequest);
+        final DroneView result = droneServiceUnderTest.updateDroneProperties("DR-25", updateRequest);
 
         // Verify the results
-        assertThat(result).isEqualTo(expectedResult);
+        assertThat(result).isEqualTo(DroneView.of(expectedResult));
         verify(mockMapper).update(any(DroneUpdateRequest.class), any(Drone.class));
     }
 
@@ -251,96 +412,144 @@ class DroneServiceTest {
     }
 
     @Test
-    void testCheckWeight_AboveMaxWeight() {
+    void testUpdateDroneProperties_WeightLimitBelowPayload() {
         // Setup
-        final Drone drone = new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 400, 0, State.IDLE,
+        final Drone drone = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 250, 2, 50, State.LOADED,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
-        final Set<Medication> medications = Set.of(new Medication(1L, "name", 300, false, "MDC_32A", "imageUrl",
-                null),
-                new Medication(2L, "name", 300, false, "MDC_33A", "imageUrl",null));
+        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(Optional.of(drone));
+        doAnswer(invocation -> {
+            drone.setWeightLimit(200);
+            return null;
+        }).when(mockMapper).update(any(DroneUpdateRequest.class), eq(drone));
 
         // Run the test
-        // Verify the results
         assertThatThrownBy(
-                () -> droneServiceUnderTest.checkWeight(drone, medications))
+                () -> droneServiceUnderTest.updateDroneProperties("DR-25", new DroneUpdateRequest(null, 200, null)))
                 .isInstanceOf(InvalidRequestException.class);
+        verify(mockDroneRepository, never()).save(any(Drone.class));
     }
 
     @Test
-    void testGetDroneMedicationItems() {
+    void testCheckWeight_AboveRemainingCapacity() {
         // Setup
-        final Set<Medication> expectedResult = Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl",
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 0, 0, State.IDLE,
-                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of())));
+        final Drone drone = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 400, 300, 1, 0, State.LOADING,
+                LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "name", 150, false, "MDC_32A", "imageUrl",
+                null));
 
-        // Configure DroneRepository.findBySerialNumber(...).
-        final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 0, 0, State.IDLE,
-                        LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                        Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl", null))));
-        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(optionalDrone);
+        // Run the test
+        // Verify the results
+        assertThatThrownBy(
+                () -> droneServiceUnderTest.checkWeight(drone, medications))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("remaining capacity : 100g");
+    }
+
+    @Test
+    void testGetDroneCapacity() {
+        // Setup
+        when(mockDroneRepository.findCapacity("DR-25")).thenReturn(
+                Optional.of(new DroneCapacityResponse("DR-25", 300, 120, 2)));
 
         // Run the test
-        final Set<Medication> result = droneServiceUnderTest.getDroneMedicationItems("DR-25");
+        final DroneCapacityResponse result = droneServiceUnderTest.getDroneCapacity("DR-25");
 
         // Verify the results
-        assertThat(result).isEqualTo(expectedResult);
+        assertThat(result.remainingCapacity()).isEqualTo(180);
+        verify(mockDroneRepository, never()).findWithMedicationsBySerialNumber(any());
     }
 
     @Test
-    void testGetDroneMedicationItems_DroneRepositoryReturnsAbsent() {
+    void testGetDroneCapacity_DroneRepositoryReturnsAbsent() {
         // Setup
-        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(Optional.empty());
+        when(mockDroneRepository.findCapacity("DR-25")).thenReturn(Optional.empty());
 
         // Run the test
-        assertThatThrownBy(() -> droneServiceUnderTest.getDroneMedicationItems("DR-25"))
+        assertThatThrownBy(() -> droneServiceUnderTest.getDroneCapacity("DR-25"))
                 .isInstanceOf(DataNotFoundException.class);
     }
 
+    @Test
+    void testCheckWeight_AboveMaxWeight() {
+        // Setup
+        final Drone drone = new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 400, 0, 0, 0, State.IDLE,
+                LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "name", 300, false, "MDC_32A", "imageUrl",
+                null),
+                new Medication(2L, null, "name", 300, false, "MDC_33A", "imageUrl",null));
+
+        // Run the test
+        // Verify the results
+        assertThatThrownBy(
+                () -> droneServiceUnderTest.checkWeight(drone, medications))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
 
     @Test
     void testFindAllAvailableDrones() {
         // Setup
-        final List<Drone> expectedResult = List.of(new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 50, 50, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl", null))));
+        final List<DroneView> expectedResult = List.of(new DroneView(1L, "DR-25", Model.LIGHT_WEIGHT, 50, 0, 0, 50,
+                50, State.IDLE, null, List.of()));
 
-        // Configure DroneRepository.findAllByDroneState(...).
-        final List<Drone> drones = List.of(new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 50, 50, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl", null))));
-        when(mockDroneRepository.findAllByDroneState(State.IDLE)).thenReturn(drones);
+        // Configure DroneRepository.findAvailableDrones(...).
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(
+                List.of(new AvailableDrone(1L, "DR-25", Model.LIGHT_WEIGHT, 50, 50)));
+        availableDronePool.afterSingletonsInstantiated();
 
         // Run the test
-        final List<Drone> result = droneServiceUnderTest.findAllAvailableDrones();
+        final List<DroneView> result = droneServiceUnderTest.findAllAvailableDrones(null, 0, 0, 0);
 
         // Verify the results
-        assertThat(result).isEqualTo(expectedResult);
+        assertThat(result).usingRecursiveFieldByFieldElementComparator().isEqualTo(expectedResult);
     }
 
     @Test
     void testFindAllAvailableDrones_DroneRepositoryReturnsNoItems() {
         // Setup
-        when(mockDroneRepository.findAllByDroneState(State.IDLE)).thenReturn(Collections.emptyList());
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(Collections.emptyList());
+        availableDronePool.afterSingletonsInstantiated();
 
         // Run the test
-        final List<Drone> result = droneServiceUnderTest.findAllAvailableDrones();
+        final List<DroneView> result = droneServiceUnderTest.findAllAvailableDrones(null, 0, 0, 0);
 
         // Verify the results
         assertThat(result).isEqualTo(Collections.emptyList());
     }
 
+    @Test
+    void testFindAllAvailableDrones_LoadedDroneLeavesPool() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(
+                List.of(new AvailableDrone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50)));
+        availableDronePool.afterSingletonsInstantiated();
+
+        when(mockDroneRepository.findBySerialNumberAndDroneState("DR-25", State.IDLE)).thenReturn(Optional.of(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 300, 0, 0, 50, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), null)));
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "name", 100, true, "MDC_32A", "imageUrl", null));
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(medications);
+        when(mockDroneRepository.save(any(Drone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Run the test
+        droneServiceUnderTest.loadDrone(new LoadingRequest(Set.of("MDC_32A")), "DR-25");
+        final List<DroneView> result = droneServiceUnderTest.findAllAvailableDrones(null, 0, 0, 0);
+
+        // Verify the results
+        assertThat(result).isEmpty();
+    }
+
     @Test
     void testFindAllDrones() {
         // Setup
-        final List<Drone> expectedResult = List.of(new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 500, 35, State.IDLE,
+        final List<Drone> expectedResult = List.of(new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 35, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl", null))));
+                Set.of(new Medication(1L, null, "name", 0, false, "MDC_32A", "imageUrl", null))));
 
         // Configure DroneRepository.findAll(...).
-        final List<Drone> drones = List.of(new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 500, 50, State.IDLE,
+        final List<Drone> drones = List.of(new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 50, State.IDLE,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl", null))));
+                Set.of(new Medication(1L, null, "name", 0, false, "MDC_32A", "imageUrl", null))));
         when(mockDroneRepository.findAll()).thenReturn(drones);
 
         // Run the test
@@ -362,18 +571,95 @@ class DroneServiceTest {
         assertThat(result).isEqualTo(Collections.emptyList());
     }
 
+    @Test
+    void testStreamBatteryLevels() {
+        // Setup
+        final DroneBatteryLevel batteryLevel = new DroneBatteryLevel(2L, "DR-26", 50);
+        when(mockDroneRepository.streamBatteryLevels(1L, 10L)).thenReturn(Stream.of(batteryLevel));
+
+        // Run the test
+        final List<DroneBatteryLevel> result = droneServiceUnderTest.streamBatteryLevels(1L, 10L).toList();
+
+        // Verify the results
+        assertThat(result).containsExactly(batteryLevel);
+    }
+
+    @Test
+    void testFindDroneIdRange() {
+        // Setup
+        when(mockDroneRepository.findDroneIdRange()).thenReturn(new DroneIdRange(1L, 10L));
+
+        // Run the test
+        final Optional<DroneIdRange> result = droneServiceUnderTest.findDroneIdRange();
+
+        // Verify the results
+        assertThat(result).contains(new DroneIdRange(1L, 10L));
+    }
+
+    @Test
+    void testFindDroneIdRange_DroneRepositoryReturnsNoDrones() {
+        // Setup
+        when(mockDroneRepository.findDroneIdRange()).thenReturn(new DroneIdRange(null, null));
+
+        // Run the test
+        final Optional<DroneIdRange> result = droneServiceUnderTest.findDroneIdRange();
+
+        // Verify the results
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testFindDroneId_ReadsOnlyTheId() {
+        // Setup
+        when(mockDroneRepository.findDroneIdBySerialNumber("DR-25")).thenReturn(Optional.of(1L));
+
+        // Run the test
+        final Long result = droneServiceUnderTest.findDroneId("DR-25");
+
+        // Verify the results
+        assertThat(result).isEqualTo(1L);
+        assertThat(droneStateCache.getIfPresent("DR-25")).isEmpty();
+        verify(mockDroneRepository, never()).findWithMedicationsBySerialNumber(any());
+    }
+
+    @Test
+    void testFindDroneId_ServedFromCache() {
+        // Setup
+        when(mockDroneRepository.findWithMedicationsBySerialNumber("DR-25")).thenReturn(Optional.of(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 35, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of())));
+        droneServiceUnderTest.getDroneBatteryLevel("DR-25");
+
+        // Run the test
+        final Long result = droneServiceUnderTest.findDroneId("DR-25");
+
+        // Verify the results
+        assertThat(result).isEqualTo(1L);
+        verify(mockDroneRepository, never()).findDroneIdBySerialNumber(any());
+    }
+
+    @Test
+    void testFindDroneId_DroneRepositoryReturnsAbsent() {
+        // Setup
+        when(mockDroneRepository.findDroneIdBySerialNumber("DR-25")).thenReturn(Optional.empty());
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.findDroneId("DR-25"))
+                .isInstanceOf(DataNotFoundException.class);
+    }
+
 
     @Test
     void testGetDroneBatteryLevel() {
         // Setup
         final BatteryLevelResponse expectedResult = new BatteryLevelResponse("DR-25", 35);
 
-        // Configure DroneRepository.findBySerialNumber(...).
+        // Configure DroneRepository.findWithMedicationsBySerialNumber(...).
         final Optional<Drone> optionalDrone = Optional.of(
-                new Drone(1L, "DR-25", Model.LIGHT_WEIGHT, 500, 35, State.IDLE,
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 35, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                        Set.of(new Medication(1L, "name", 0, false, "MDC_32A", "imageUrl", null))));
-        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(optionalDrone);
+                        Set.of(new Medication(1L, null, "name", 0, false, "MDC_32A", "imageUrl", null))));
+        when(mockDroneRepository.findWithMedicationsBySerialNumber("DR-25")).thenReturn(optionalDrone);
 
         // Run the test
         final BatteryLevelResponse result = droneServiceUnderTest.getDroneBatteryLevel("DR-25");
@@ -385,12 +671,242 @@ class DroneServiceTest {
     @Test
     void testGetDroneBatteryLevel_DroneRepositoryReturnsAbsent() {
         // Setup
-        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(Optional.empty());
+        when(mockDroneRepository.findWithMedicationsBySerialNumber("DR-25")).thenReturn(Optional.empty());
 
         // Run the test
         assertThatThrownBy(() -> droneServiceUnderTest.getDroneBatteryLevel("DR-25"))
                 .isInstanceOf(DataNotFoundException.class);
     }
 
+    @Test
+    void testGetDroneBatteryLevel_ServedFromCache() {
+        // Setup
+        final Optional<Drone> optionalDrone = Optional.of(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 35, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of()));
+        when(mockDroneRepository.findWithMedicationsBySerialNumber("DR-25")).thenReturn(optionalDrone);
+
+        // Run the test
+        droneServiceUnderTest.getDroneBatteryLevel("DR-25");
+        final BatteryLevelResponse result = droneServiceUnderTest.getDroneBatteryLevel("DR-25");
+
+        // Verify the results
+        assertThat(result).isEqualTo(new BatteryLevelResponse("DR-25", 35));
+        verify(mockDroneRepository, times(1)).findWithMedicationsBySerialNumber("DR-25");
+    }
+
+    @Test
+    void testUpdateDroneProperties_WritesThroughToCache() {
+        // Setup
+        final DroneUpdateRequest updateRequest = new DroneUpdateRequest(null, null, 80);
+        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(Optional.of(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 35, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of())));
+        when(mockDroneRepository.save(any(Drone.class))).thenReturn(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 80, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of()));
+
+        // Run the test
+        droneServiceUnderTest.updateDroneProperties("DR-25", updateRequest);
+        final BatteryLevelResponse result = droneServiceUnderTest.getDroneBatteryLevel("DR-25");
+
+        // Verify the results
+        assertThat(result).isEqualTo(new BatteryLevelResponse("DR-25", 80));
+        verify(mockDroneRepository, never()).findWithMedicationsBySerialNumber("DR-25");
+    }
+
+    @Test
+    void testLoadDrone_CachedDroneNotIdle() {
+        // Setup
+        when(mockDroneRepository.findBySerialNumber("DR-25")).thenReturn(Optional.of(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 35, State.LOADED,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of())));
+        when(mockDroneRepository.save(any(Drone.class))).thenReturn(
+                new Drone(1L, null, "DR-25", Model.LIGHT_WEIGHT, 500, 0, 0, 35, State.LOADED,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of()));
+        droneServiceUnderTest.updateDroneProperties("DR-25", new DroneUpdateRequest(null, null, null));
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.loadDrone(new LoadingRequest(Set.of("MDC_32A")), "DR-25"))
+                .isInstanceOf(DataNotFoundException.class);
+        verify(mockDroneRepository, never()).findBySerialNumberAndDroneState("DR-25", State.IDLE);
+    }
+
+    @Test
+    void testAutoAssignDrone_PicksSmallestDroneThatFits() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 100, 90),
+                new AvailableDrone(2L, "DR-2", Model.MIDDLE_WEIGHT, 250, 20),
+                new AvailableDrone(3L, "DR-3", Model.CRUSER_WEIGHT, 300, 60),
+                new AvailableDrone(4L, "DR-4", Model.HEAVY_WEIGHT, 500, 100)));
+        availableDronePool.afterSingletonsInstantiated();
+
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "GRAND-PA_32A", 200, true, "MDC_32A",
+                "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null));
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(medications);
+        when(mockDroneRepository.findBySerialNumberAndDroneState("DR-3", State.IDLE)).thenReturn(Optional.of(
+                new Drone(3L, null, "DR-3", Model.CRUSER_WEIGHT, 300, 0, 0, 60, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), null)));
+        when(mockDroneRepository.save(any(Drone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Run the test
+        final DroneView result = droneServiceUnderTest.autoAssignDrone(new LoadingRequest(Set.of("MDC_32A")));
+
+        // Verify the results
+        assertThat(result.serialNumber()).isEqualTo("DR-3");
+        assertThat(result.droneState()).isEqualTo(State.LOADED);
+        verify(mockMedicationService).updateMedicationAvailability(medications, false, 3L);
+        assertThat(droneServiceUnderTest.findAllAvailableDrones(null, 0, 0, 0))
+                .extracting(DroneView::serialNumber).containsExactly("DR-4", "DR-1", "DR-2");
+    }
+
+    @Test
+    void testAutoAssignDrone_SkipsStaleCandidate() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 100, 90),
+                new AvailableDrone(2L, "DR-2", Model.LIGHT_WEIGHT, 200, 90)));
+        availableDronePool.afterSingletonsInstantiated();
+
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "GRAND-PA_32A", 50, true, "MDC_32A",
+                "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null));
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(medications);
+        when(mockDroneRepository.findBySerialNumberAndDroneState("DR-1", State.IDLE)).thenReturn(Optional.empty());
+        when(mockDroneRepository.findBySerialNumberAndDroneState("DR-2", State.IDLE)).thenReturn(Optional.of(
+                new Drone(2L, null, "DR-2", Model.LIGHT_WEIGHT, 200, 0, 0, 90, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), null)));
+        when(mockDroneRepository.save(any(Drone.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Run the test
+        final DroneView result = droneServiceUnderTest.autoAssignDrone(new LoadingRequest(Set.of("MDC_32A")));
+
+        // Verify the results
+        assertThat(result.serialNumber()).isEqualTo("DR-2");
+    }
+
+    @Test
+    void testAutoAssignDrone_NoDroneFits() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 100, 90),
+                new AvailableDrone(2L, "DR-2", Model.HEAVY_WEIGHT, 500, 10)));
+        availableDronePool.afterSingletonsInstantiated();
+
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "GRAND-PA_32A", 300, true, "MDC_32A",
+                "https://encrypted-tbn0.gstatic.com/images?q=tbn:ANd9GcS6p0ZWRCEldPVn3tkhAJYPAETG-2pQCeyUTUGoyw3uGQ&s", null));
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_32A"))).thenReturn(medications);
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.autoAssignDrone(new LoadingRequest(Set.of("MDC_32A"))))
+                .isInstanceOf(DataNotFoundException.class);
+        verify(mockDroneRepository, never()).save(any(Drone.class));
+    }
+
+    @Test
+    void testPlanBulkLoading() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 200, 90),
+                new AvailableDrone(2L, "DR-2", Model.HEAVY_WEIGHT, 500, 10)));
+        availableDronePool.afterSingletonsInstantiated();
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_1", "MDC_2", "MDC_3", "MDC_4"))).thenReturn(Set.of(
+                new Medication(1L, null, "MED-1", 150, true, "MDC_1", null, null),
+                new Medication(2L, null, "MED-2", 50, true, "MDC_2", null, null),
+                new Medication(3L, null, "MED-3", 100, true, "MDC_3", null, null)));
+
+        // Run the test
+        final LoadingPlan result = droneServiceUnderTest.planBulkLoading(
+                new LoadingRequest(Set.of("MDC_1", "MDC_2", "MDC_3", "MDC_4")), false);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new LoadingPlan(
+                List.of(new DroneLoad("DR-1", 200, 200, Set.of("MDC_1", "MDC_2"))),
+                Set.of("MDC_3"), Set.of("MDC_4"), false));
+        verify(mockDroneRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testPlanBulkLoading_Commit() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 200, 90)));
+        availableDronePool.afterSingletonsInstantiated();
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "MED-1", 150, true, "MDC_1", null, null));
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_1"))).thenReturn(medications);
+        final Drone drone = new Drone(1L, null, "DR-1", Model.LIGHT_WEIGHT, 200, 0, 0, 90, State.IDLE,
+                LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
+        when(mockDroneRepository.findAllBySerialNumberInAndDroneState(List.of("DR-1"), State.IDLE))
+                .thenReturn(List.of(drone));
+        when(mockDroneRepository.saveAll(any())).thenReturn(List.of(drone));
+
+        // Run the test
+        final LoadingPlan result = droneServiceUnderTest.planBulkLoading(new LoadingRequest(Set.of("MDC_1")), true);
+
+        // Verify the results
+        assertThat(result.committed()).isTrue();
+        assertThat(drone.getDroneState()).isEqualTo(State.LOADED);
+        assertThat(drone.getMedications()).isEqualTo(medications);
+        assertThat(drone.getCurrentPayloadGrams()).isEqualTo(150);
+        assertThat(drone.getItemCount()).isEqualTo(1);
+        verify(mockMedicationService).updateMedicationAvailability(medications, false, 1L);
+        assertThat(droneServiceUnderTest.findAllAvailableDrones(null, 0, 0, 0)).isEmpty();
+    }
+
+    @Test
+    void testPlanBulkLoading_CommitFailsWhenDroneTaken() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 200, 90)));
+        availableDronePool.afterSingletonsInstantiated();
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_1"))).thenReturn(
+                Set.of(new Medication(1L, null, "MED-1", 150, true, "MDC_1", null, null)));
+        when(mockDroneRepository.findAllBySerialNumberInAndDroneState(List.of("DR-1"), State.IDLE))
+                .thenReturn(List.of());
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.planBulkLoading(new LoadingRequest(Set.of("MDC_1")), true))
+                .isInstanceOf(DataNotFoundException.class);
+        verify(mockDroneRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testPlanBulkLoading_CommitRechecksBattery() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 200, 90)));
+        availableDronePool.afterSingletonsInstantiated();
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_1"))).thenReturn(
+                Set.of(new Medication(1L, null, "MED-1", 150, true, "MDC_1", null, null)));
+        //Drained after the plan was made from the pool
+        when(mockDroneRepository.findAllBySerialNumberInAndDroneState(List.of("DR-1"), State.IDLE))
+                .thenReturn(List.of(new Drone(1L, null, "DR-1", Model.LIGHT_WEIGHT, 200, 0, 0, 20, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), null)));
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.planBulkLoading(new LoadingRequest(Set.of("MDC_1")), true))
+                .isInstanceOf(InvalidRequestException.class);
+        verify(mockDroneRepository, never()).saveAll(any());
+        verify(mockMedicationService, never()).updateMedicationAvailability(any(), eq(false), any());
+    }
+
+    @Test
+    void testPlanBulkLoading_CommitRechecksWeightLimit() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 200, 90)));
+        availableDronePool.afterSingletonsInstantiated();
+        when(mockMedicationService.findAllAvailableByCodes(Set.of("MDC_1"))).thenReturn(
+                Set.of(new Medication(1L, null, "MED-1", 150, true, "MDC_1", null, null)));
+        //Weight limit lowered after the plan was made from the pool
+        when(mockDroneRepository.findAllBySerialNumberInAndDroneState(List.of("DR-1"), State.IDLE))
+                .thenReturn(List.of(new Drone(1L, null, "DR-1", Model.LIGHT_WEIGHT, 100, 0, 0, 90, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), null)));
+
+        // Run the test
+        assertThatThrownBy(() -> droneServiceUnderTest.planBulkLoading(new LoadingRequest(Set.of("MDC_1")), true))
+                .isInstanceOf(InvalidRequestException.class);
+        verify(mockDroneRepository, never()).saveAll(any());
+    }
 
 }
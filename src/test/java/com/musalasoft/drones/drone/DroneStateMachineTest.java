@@ -0,0 +1,139 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.drone.dtos.DroneStateResponse;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.drone.enums.Transition;
+import com.musalasoft.drones.exceptions.DataNotFoundException;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DroneStateMachineTest {
+
+    @Mock
+    private DroneRepository mockDroneRepository;
+
+    private AvailableDronePool availableDronePool;
+
+    private DroneStateMachine droneStateMachineUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        availableDronePool = new AvailableDronePool(mockDroneRepository);
+        droneStateMachineUnderTest = new DroneStateMachine(mockDroneRepository,
+                new DroneStateCache(new DroneCacheProperties(), new SimpleMeterRegistry()), availableDronePool,
+                event -> {
+                });
+    }
+
+    @Test
+    void testApply_StartLoadingLeavesPool() {
+        // Setup
+        when(mockDroneRepository.findAvailableDrones(State.IDLE)).thenReturn(List.of(
+                new AvailableDrone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50)));
+        availableDronePool.afterSingletonsInstantiated();
+        when(mockDroneRepository.updateDroneState("DR-25", State.IDLE, State.LOADING, 25)).thenReturn(1);
+
+        // Run the test
+        final DroneStateResponse result = droneStateMachineUnderTest.apply("DR-25", Transition.START_LOADING);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new DroneStateResponse("DR-25", State.IDLE, State.LOADING));
+        assertThat(availableDronePool.find(null, 0, 0)).isEmpty();
+    }
+
+    @Test
+    void testApply_CompleteReturnJoinsPool() {
+        // Setup
+        when(mockDroneRepository.updateDroneState("DR-25", State.RETURNING, State.IDLE, 0)).thenReturn(1);
+        when(mockDroneRepository.findAvailableDrone("DR-25")).thenReturn(Optional.of(
+                new AvailableDrone(1L, "DR-25", Model.LIGHT_WEIGHT, 300, 50)));
+
+        // Run the test
+        droneStateMachineUnderTest.apply("DR-25", Transition.COMPLETE_RETURN);
+
+        // Verify the results
+        assertThat(availableDronePool.find(null, 0, 0)).extracting(AvailableDrone::serialNumber).containsExactly("DR-25");
+    }
+
+    @Test
+    void testApply_CompleteDeliveryDetachesMedications() {
+        // Setup
+        when(mockDroneRepository.updateDroneState("DR-25", State.DELIVERING, State.DELIVERED, 0)).thenReturn(1);
+
+        // Run the test
+        droneStateMachineUnderTest.apply("DR-25", Transition.COMPLETE_DELIVERY);
+
+        // Verify the results
+        verify(mockDroneRepository).detachMedications("DR-25");
+        verify(mockDroneRepository).clearPayload("DR-25");
+    }
+
+    @Test
+    void testApply_CancelLoadingReleasesMedications() {
+        // Setup
+        when(mockDroneRepository.updateDroneState("DR-25", State.LOADING, State.IDLE, 0)).thenReturn(1);
+
+        // Run the test
+        droneStateMachineUnderTest.apply("DR-25", Transition.CANCEL_LOADING);
+
+        // Verify the results
+        verify(mockDroneRepository).releaseMedications("DR-25");
+        verify(mockDroneRepository).clearPayload("DR-25");
+    }
+
+    @Test
+    void testApply_WrongStateRejected() {
+        // Setup
+        when(mockDroneRepository.updateDroneState("DR-25", State.LOADED, State.DELIVERING, 0)).thenReturn(0);
+        when(mockDroneRepository.findDroneStateBySerialNumber("DR-25")).thenReturn(Optional.of(State.IDLE));
+
+        // Run the test
+        assertThatThrownBy(() -> droneStateMachineUnderTest.apply("DR-25", Transition.START_DELIVERY))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("IDLE");
+        verify(mockDroneRepository, never()).findAvailableDrone(any());
+    }
+
+    @Test
+    void testApply_StartLoadingRejectsLowBattery() {
+        // Setup
+        when(mockDroneRepository.updateDroneState("DR-25", State.IDLE, State.LOADING, 25)).thenReturn(0);
+        when(mockDroneRepository.findDroneStateBySerialNumber("DR-25")).thenReturn(Optional.of(State.IDLE));
+
+        // Run the test
+        assertThatThrownBy(() -> droneStateMachineUnderTest.apply("DR-25", Transition.START_LOADING))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("below 25%");
+        verify(mockDroneRepository, never()).findAvailableDrone(any());
+    }
+
+    @Test
+    void testApply_UnknownDrone() {
+        // Setup
+        when(mockDroneRepository.updateDroneState("DR-25", State.IDLE, State.LOADING, 25)).thenReturn(0);
+        when(mockDroneRepository.findDroneStateBySerialNumber("DR-25")).thenReturn(Optional.empty());
+
+        // Run the test
+        assertThatThrownBy(() -> droneStateMachineUnderTest.apply("DR-25", Transition.START_LOADING))
+                .isInstanceOf(DataNotFoundException.class);
+    }
+
+}
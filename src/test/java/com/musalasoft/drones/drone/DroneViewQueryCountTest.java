@@ -0,0 +1,98 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.DroneUpdateRequest;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.dtos.LoadingRequest;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.RegistrationMode;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.medication.MedicationService;
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements behind drone responses against the real database, so a lazy collection creeping back
+ * into a response shows up as a failing test instead of one query per drone.
+ */
+@SpringBootTest
+class DroneViewQueryCountTest {
+
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private FleetRegistrationService fleetRegistrationService;
+    @Autowired
+    private MedicationService medicationService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void testFindAllAvailableDrones_RunsNoQueries() throws Exception {
+        // Setup
+        fleetRegistrationService.registerFleet(IntStream.range(0, 5000)
+                .mapToObj(i -> new DroneRequest("VIEW-" + i, Model.MIDDLE_WEIGHT, 400, 80, State.IDLE))
+                .toList(), RegistrationMode.ALL_OR_NOTHING);
+        statistics.clear();
+
+        // Run the test
+        final List<DroneView> result = droneService.findAllAvailableDrones(Model.MIDDLE_WEIGHT, 0, 0, 0);
+        final String json = objectMapper.writeValueAsString(result);
+
+        // Verify the results
+        assertThat(result).hasSizeGreaterThanOrEqualTo(5000);
+        assertThat(json).contains("\"VIEW-4999\"");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void testUpdateDroneProperties_QueriesDoNotGrowWithMedications() throws Exception {
+        // Setup
+        droneService.createDrone(new DroneRequest("VIEW-LOADED", Model.HEAVY_WEIGHT, 500, 100, State.IDLE));
+        final Set<String> codes = IntStream.range(0, 20).mapToObj(i -> "VIEW_" + i).collect(Collectors.toSet());
+        codes.forEach(code -> medicationService.addMedication(new MedicationRequest("MED", 10, code, null)));
+        droneService.loadDrone(new LoadingRequest(codes), "VIEW-LOADED");
+        statistics.clear();
+
+        // Run the test
+        final DroneView result = droneService.updateDroneProperties("VIEW-LOADED", new DroneUpdateRequest(null, null, 90));
+        final String json = objectMapper.writeValueAsString(result);
+
+        // Verify the results
+        assertThat(result.medications()).hasSize(20);
+        assertThat(json).contains("\"VIEW_19\"");
+        //Drone, its medications and the update
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+}
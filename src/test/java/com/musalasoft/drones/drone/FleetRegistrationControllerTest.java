@@ -0,0 +1,50 @@
+package com.musalasoft.drones.drone;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Posts malformed fleets through the whole MVC stack, where Jackson and method validation run.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class FleetRegistrationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testRegisterFleet_NullEntryRejected() throws Exception {
+        String serialNumber = "FLT-" + System.nanoTime();
+        mockMvc.perform(post("/api/v1/drones/registration/bulk")
+                        .param("mode", "PARTIAL")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null, {\"serialNumber\": \"" + serialNumber + "\", \"model\": \"LIGHT_WEIGHT\", " +
+                                "\"weightLimit\": 200, \"batteryCapacity\": 80, \"droneState\": \"IDLE\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.registered").value(1))
+                .andExpect(jsonPath("$.rejections[0].index").value(0))
+                .andExpect(jsonPath("$.rejections[0].reason").value("Entry must not be null"));
+    }
+
+    @Test
+    void testRegisterFleet_OversizedBatchRejected() throws Exception {
+        String body = "[" + String.join(",",
+                Collections.nCopies(FleetRegistrationService.MAX_FLEET_SIZE + 1, "null")) + "]";
+        mockMvc.perform(post("/api/v1/drones/registration/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.config.BatchRegistration;
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.FleetRegistrationResponse;
+import com.musalasoft.drones.drone.dtos.RejectedDrone;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.RegistrationMode;
+import com.musalasoft.drones.drone.enums.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FleetRegistrationServiceTest {
+
+    @Mock
+    private DroneRepository mockDroneRepository;
+    @Mock
+    private DroneBatchWriter mockDroneBatchWriter;
+
+    private AvailableDronePool availableDronePool;
+
+    private FleetRegistrationService fleetRegistrationServiceUnderTest;
+
+    private final List<DroneRequest> requests = List.of(
+            new DroneRequest("DR-1", Model.LIGHT_WEIGHT, 200, 80, State.IDLE),
+            new DroneRequest("DR-2", Model.HEAVY_WEIGHT, 900, 80, State.IDLE),
+            new DroneRequest("DR-3", Model.HEAVY_WEIGHT, 500, 60, State.IDLE),
+            new DroneRequest("DR-1", Model.LIGHT_WEIGHT, 200, 80, State.IDLE),
+            new DroneRequest("DR-4", Model.MIDDLE_WEIGHT, 300, 40, State.IDLE));
+
+    @BeforeEach
+    void setUp() {
+        availableDronePool = new AvailableDronePool(mockDroneRepository);
+        fleetRegistrationServiceUnderTest = new FleetRegistrationService(mockDroneRepository, mockDroneBatchWriter,
+                new DroneStateCache(new DroneCacheProperties(), new SimpleMeterRegistry()), availableDronePool,
+                new BatchRegistration(Validation.buildDefaultValidatorFactory().getValidator()));
+    }
+
+    private static Drone drone(long id, DroneRequest request) {
+        return new Drone(id, 0L, request.serialNumber(), request.model(), request.weightLimit(), 0, 0,
+                request.batteryCapacity(), request.droneState(), LocalDateTime.of(2020, 1, 1, 0, 0, 0), null);
+    }
+
+    @Test
+    void testRegisterFleet_Partial() {
+        // Setup
+        when(mockDroneRepository.findExistingSerialNumbers(Set.of("DR-1", "DR-3", "DR-4"))).thenReturn(Set.of("DR-3"));
+        when(mockDroneBatchWriter.write(List.of(requests.get(0), requests.get(4))))
+                .thenReturn(List.of(drone(1L, requests.get(0)), drone(2L, requests.get(4))));
+
+        // Run the test
+        final FleetRegistrationResponse result = fleetRegistrationServiceUnderTest.registerFleet(
+                requests, RegistrationMode.PARTIAL);
+
+        // Verify the results
+        assertThat(result.registered()).isEqualTo(2);
+        assertThat(result.rejections()).extracting(RejectedDrone::index).containsExactly(1, 2, 3);
+        assertThat(result.rejections().get(0).reason()).startsWith("weightLimit ");
+        assertThat(result.rejections().get(1).reason()).isEqualTo("Drone already exists with this serial number");
+        assertThat(result.rejections().get(2).reason()).isEqualTo("Serial number repeated earlier in the batch");
+        assertThat(availableDronePool.find(null, 0, 0)).extracting(AvailableDrone::serialNumber)
+                .containsExactly("DR-1", "DR-4");
+    }
+
+    @Test
+    void testRegisterFleet_AllOrNothingRejectsWholeBatch() {
+        // Setup
+        when(mockDroneRepository.findExistingSerialNumbers(anySet())).thenReturn(Set.of("DR-3"));
+
+        // Run the test
+        final FleetRegistrationResponse result = fleetRegistrationServiceUnderTest.registerFleet(
+                requests, RegistrationMode.ALL_OR_NOTHING);
+
+        // Verify the results
+        assertThat(result.registered()).isZero();
+        assertThat(result.rejected()).isEqualTo(3);
+        verify(mockDroneBatchWriter, never()).write(any());
+    }
+
+    @Test
+    void testRegisterFleet_AllOrNothingRegistersCleanBatch() {
+        // Setup
+        final List<DroneRequest> clean = List.of(requests.get(0), requests.get(2));
+        when(mockDroneRepository.findExistingSerialNumbers(anySet())).thenReturn(Set.of());
+        when(mockDroneBatchWriter.write(clean))
+                .thenReturn(List.of(drone(1L, clean.get(0)), drone(2L, clean.get(1))));
+
+        // Run the test
+        final FleetRegistrationResponse result = fleetRegistrationServiceUnderTest.registerFleet(
+                clean, RegistrationMode.ALL_OR_NOTHING);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new FleetRegistrationResponse(2, 0, List.of()));
+    }
+
+    @Test
+    void testRegisterFleet_NullEntryRejected() {
+        // Setup
+        final List<DroneRequest> withNull = Arrays.asList(requests.get(0), null);
+        when(mockDroneRepository.findExistingSerialNumbers(anySet())).thenReturn(Set.of());
+        when(mockDroneBatchWriter.write(List.of(requests.get(0)))).thenReturn(List.of(drone(1L, requests.get(0))));
+
+        // Run the test
+        final FleetRegistrationResponse result = fleetRegistrationServiceUnderTest.registerFleet(
+                withNull, RegistrationMode.PARTIAL);
+
+        // Verify the results
+        assertThat(result.registered()).isEqualTo(1);
+        assertThat(result.rejections()).containsExactly(new RejectedDrone(1, null, "Entry must not be null"));
+    }
+
+    @Test
+    void testRegisterFleet_ConcurrentRegistrationRechecked() {
+        // Setup
+        final List<DroneRequest> clean = List.of(requests.get(0), requests.get(2));
+        when(mockDroneRepository.findExistingSerialNumbers(anySet()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("DR-1"));
+        when(mockDroneBatchWriter.write(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenReturn(List.of(drone(2L, clean.get(1))));
+
+        // Run the test
+        final FleetRegistrationResponse result = fleetRegistrationServiceUnderTest.registerFleet(
+                clean, RegistrationMode.PARTIAL);
+
+        // Verify the results
+        assertThat(result.registered()).isEqualTo(1);
+        assertThat(result.rejections()).containsExactly(
+                new RejectedDrone(0, "DR-1", "Drone already exists with this serial number"));
+    }
+
+}
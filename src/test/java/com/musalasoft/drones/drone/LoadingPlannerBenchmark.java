@@ -0,0 +1,55 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.medication.Medication;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Packing time of {@link LoadingPlanner} for a bulk loading request.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark=LoadingPlannerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadingPlannerBenchmark {
+
+    @Param({"10000"})
+    public int medications;
+
+    @Param({"1000"})
+    public int drones;
+
+    private final LoadingPlanner loadingPlanner = new LoadingPlanner();
+
+    private List<Medication> items;
+    private List<AvailableDrone> bins;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        Model[] models = Model.values();
+
+        items = IntStream.range(0, medications)
+                .mapToObj(i -> new Medication((long) i, null, "MED-" + i, random.nextInt(1, 501), true, "MDC_" + i, null, null))
+                .toList();
+        bins = IntStream.range(0, drones)
+                .mapToObj(i -> new AvailableDrone((long) i, "DR-" + i, models[i % models.length],
+                        random.nextInt(100, 501), random.nextInt(25, 101)))
+                .toList();
+    }
+
+    @Benchmark
+    public LoadingPlanner.Packing firstFitDecreasing() {
+        return loadingPlanner.pack(items, bins);
+    }
+
+}
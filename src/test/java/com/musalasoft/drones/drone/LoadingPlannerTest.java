@@ -0,0 +1,70 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.AvailableDrone;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.medication.Medication;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadingPlannerTest {
+
+    private final LoadingPlanner loadingPlannerUnderTest = new LoadingPlanner();
+
+    private static Medication medication(long id, int weight) {
+        return new Medication(id, null, "MED-" + id, weight, true, "MDC_" + id, null, null);
+    }
+
+    @Test
+    void testPack() {
+        // Setup
+        final AvailableDrone small = new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 200, 90);
+        final AvailableDrone large = new AvailableDrone(2L, "DR-2", Model.HEAVY_WEIGHT, 500, 60);
+        final List<Medication> medications = List.of(
+                medication(1, 100), medication(2, 300), medication(3, 150), medication(4, 200), medication(5, 50));
+
+        // Run the test
+        final LoadingPlanner.Packing result = loadingPlannerUnderTest.pack(medications, List.of(small, large));
+
+        // Verify the results
+        assertThat(result.loads()).containsOnlyKeys(large, small);
+        assertThat(result.loads().get(large)).extracting(Medication::getWeight).containsExactly(300, 200);
+        assertThat(result.loads().get(small)).extracting(Medication::getWeight).containsExactly(150, 50);
+        assertThat(result.unassigned()).extracting(Medication::getWeight).containsExactly(100);
+    }
+
+    @Test
+    void testPack_NeverExceedsWeightLimit() {
+        // Setup
+        final List<AvailableDrone> drones = List.of(
+                new AvailableDrone(1L, "DR-1", Model.LIGHT_WEIGHT, 120, 90),
+                new AvailableDrone(2L, "DR-2", Model.MIDDLE_WEIGHT, 250, 90),
+                new AvailableDrone(3L, "DR-3", Model.CRUSER_WEIGHT, 370, 90));
+        final List<Medication> medications = List.of(
+                medication(1, 90), medication(2, 80), medication(3, 70), medication(4, 60),
+                medication(5, 50), medication(6, 40), medication(7, 30), medication(8, 20));
+
+        // Run the test
+        final LoadingPlanner.Packing result = loadingPlannerUnderTest.pack(medications, drones);
+
+        // Verify the results
+        for (Map.Entry<AvailableDrone, List<Medication>> load : result.loads().entrySet())
+            assertThat(load.getValue().stream().mapToInt(Medication::getWeight).sum())
+                    .isLessThanOrEqualTo(load.getKey().weightLimit());
+        assertThat(result.unassigned()).isEmpty();
+    }
+
+    @Test
+    void testPack_NoDrones() {
+        // Run the test
+        final LoadingPlanner.Packing result = loadingPlannerUnderTest.pack(List.of(medication(1, 10)), List.of());
+
+        // Verify the results
+        assertThat(result.loads()).isEmpty();
+        assertThat(result.unassigned()).hasSize(1);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.musalasoft.drones.drone;
+
+import com.musalasoft.drones.drone.dtos.BatteryLevelResponse;
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.DroneUpdateRequest;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.dtos.LoadingRequest;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.exceptions.DataNotFoundException;
+import com.musalasoft.drones.medication.Medication;
+import com.musalasoft.drones.medication.MedicationService;
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Reads through R2DBC against the same in-memory database JPA writes to, with the drone evicted from the cache so
+ * the first read takes the non-blocking path and fills the cache.
+ */
+@SpringBootTest
+class ReactiveDroneReadsTest {
+
+    @Autowired
+    private ReactiveDroneReads reactiveDroneReads;
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private MedicationService medicationService;
+    @Autowired
+    private DroneStateCache droneStateCache;
+
+    @Test
+    void testCacheMissReadsThroughR2dbcAndFillsTheCache() {
+        // Setup
+        droneService.createDrone(new DroneRequest("R2DBC-1", Model.LIGHT_WEIGHT, 300, 70, State.IDLE));
+        medicationService.addMedication(new MedicationRequest("MED", 120, "R2DBC_1", null));
+        droneService.loadDrone(new LoadingRequest(Set.of("R2DBC_1")), "R2DBC-1");
+        droneStateCache.invalidate("R2DBC-1");
+
+        // Run the test
+        final BatteryLevelResponse batteryLevel = reactiveDroneReads.getDroneBatteryLevel("R2DBC-1").block();
+        final Set<Medication> medications = reactiveDroneReads.getDroneMedicationItems("R2DBC-1").block();
+
+        // Verify the results
+        assertThat(batteryLevel).isEqualTo(new BatteryLevelResponse("R2DBC-1", 70));
+        assertThat(medications).extracting(Medication::getCode, Medication::getWeight, Medication::isAvailable)
+                .containsExactly(tuple("R2DBC_1", 120, false));
+        assertThat(droneStateCache.getIfPresent("R2DBC-1")).hasValueSatisfying(drone -> {
+            assertThat(drone.batteryCapacity()).isEqualTo(70);
+            assertThat(drone.droneState()).isEqualTo(State.LOADED);
+            assertThat(drone.medications()).extracting(Medication::getCode).containsExactly("R2DBC_1");
+        });
+    }
+
+    @Test
+    void testFillDroppedWhenAWritePassedTheRead() {
+        // Setup
+        droneService.createDrone(new DroneRequest("R2DBC-4", Model.LIGHT_WEIGHT, 300, 70, State.IDLE));
+        droneStateCache.invalidate("R2DBC-4");
+        final long version = droneStateCache.version("R2DBC-4");
+        droneService.updateDroneProperties("R2DBC-4", new DroneUpdateRequest(null, null, 40));
+        droneStateCache.invalidate("R2DBC-4");
+
+        // Run the test
+        droneStateCache.fill(new DroneSnapshot(1L, "R2DBC-4", Model.LIGHT_WEIGHT, 300, 70, State.IDLE, Set.of()),
+                version);
+
+        // Verify the results
+        assertThat(droneStateCache.getIfPresent("R2DBC-4")).isEmpty();
+        assertThat(reactiveDroneReads.getDroneBatteryLevel("R2DBC-4").block())
+                .isEqualTo(new BatteryLevelResponse("R2DBC-4", 40));
+    }
+
+    @Test
+    void testDroneWithoutMedications() {
+        // Setup
+        droneService.createDrone(new DroneRequest("R2DBC-2", Model.LIGHT_WEIGHT, 300, 70, State.IDLE));
+        droneStateCache.invalidate("R2DBC-2");
+
+        // Run the test
+        final Set<Medication> result = reactiveDroneReads.getDroneMedicationItems("R2DBC-2").block();
+
+        // Verify the results
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testUnknownDrone() {
+        assertThatThrownBy(() -> reactiveDroneReads.getDroneBatteryLevel("R2DBC-404").block())
+                .isInstanceOf(DataNotFoundException.class);
+        assertThatThrownBy(() -> reactiveDroneReads.getDroneMedicationItems("R2DBC-404").block())
+                .isInstanceOf(DataNotFoundException.class);
+    }
+
+    @Test
+    void testFindAllAvailableDrones() {
+        // Setup
+        droneService.createDrone(new DroneRequest("R2DBC-3", Model.CRUSER_WEIGHT, 450, 99, State.IDLE));
+
+        // Run the test
+        final List<DroneView> result = reactiveDroneReads.findAllAvailableDrones(Model.CRUSER_WEIGHT, 99, 450, 0).block();
+
+        // Verify the results
+        assertThat(result).extracting(DroneView::serialNumber).contains("R2DBC-3");
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.musalasoft.drones.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one day of battery history for a random drone, one reading per drone per 100 second sweep.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark=BatteryHistoryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx6g")
+public class BatteryHistoryBenchmark {
+
+    private static final int DRONES = 1_000;
+    private static final int SWEEP_SECONDS = 100;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"5000000"})
+    public int readings;
+
+    private ConfigurableApplicationContext context;
+    private EventLogService eventLogService;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = TelemetryBenchmarkSupport.startApplication();
+        eventLogService = context.getBean(EventLogService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        TelemetryBenchmarkSupport.seedDrones(jdbcTemplate, DRONES);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int id = 1; id <= readings; id++) {
+            int sweep = (id - 1) / DRONES;
+            batch.add(new Object[]{id, (id - 1) % DRONES + 1, 50,
+                    Timestamp.valueOf(START.plusSeconds((long) sweep * SWEEP_SECONDS))});
+            if (batch.size() == 10_000 || id == readings) {
+                jdbcTemplate.batchUpdate("insert into event_log (log_id, drone_id, batter_capacity_at_log_time, " +
+                        "created_at) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        to = START.plusSeconds((long) readings / DRONES * SWEEP_SECONDS);
+        from = to.minusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object oneDayOfHistory() {
+        return eventLogService.findBatteryHistory("DR-" + ThreadLocalRandom.current().nextInt(1, DRONES + 1), from, to);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.Drone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(BatteryRollupWriter.class)
+class BatteryRollupWriterTest {
+
+    @Autowired
+    private BatteryRollupWriter batteryRollupWriterUnderTest;
+    @Autowired
+    private BatteryRollupRepository batteryRollupRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime start = LocalDateTime.of(2020, 1, 1, 10, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into drone (drone_id, serial_number, model, weight_limit, battery_capacity, " +
+                "drone_state, registered_at) values (1, 'DR-1', 'LIGHT_WEIGHT', 500, 80, 'IDLE', current_timestamp)");
+    }
+
+    private static EventLog eventLog(LocalDateTime createdAt, int battery) {
+        final Drone drone = new Drone();
+        drone.setDroneId(1L);
+        return new EventLog(null, drone, battery, createdAt);
+    }
+
+    @Test
+    void testApply() {
+        // Run the test
+        batteryRollupWriterUnderTest.apply(List.of(eventLog(start.plusSeconds(10), 80)));
+        batteryRollupWriterUnderTest.apply(List.of(eventLog(start.plusSeconds(50), 60)));
+        //A late reading must not replace the last value
+        batteryRollupWriterUnderTest.apply(List.of(eventLog(start.plusSeconds(30), 70)));
+        batteryRollupWriterUnderTest.apply(List.of(eventLog(start.plusMinutes(5), 50)));
+
+        // Verify the results
+        assertThat(batteryRollupRepository.findTrend(1L, RollupGranularity.MINUTE, start, start.plusHours(1)))
+                .containsExactly(
+                        new BatteryTrendPoint(start, 60, 80, 70.0, 60),
+                        new BatteryTrendPoint(start.plusMinutes(5), 50, 50, 50.0, 50));
+        assertThat(batteryRollupRepository.findTrend(1L, RollupGranularity.HOUR, start, start.plusHours(1)))
+                .containsExactly(new BatteryTrendPoint(start, 50, 80, 65.0, 50));
+        assertThat(batteryRollupRepository.findTrend(1L, RollupGranularity.DAY, start.minusHours(10), start.plusDays(1)))
+                .containsExactly(new BatteryTrendPoint(start.minusHours(10), 50, 80, 65.0, 50));
+    }
+
+}
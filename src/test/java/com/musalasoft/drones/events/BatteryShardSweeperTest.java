@@ -0,0 +1,93 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.DroneService;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatteryShardSweeperTest {
+
+    @Mock
+    private DroneService mockDroneService;
+    @Mock
+    private EventLogBatchWriter mockEventLogBatchWriter;
+    @Mock
+    private BatteryAlertSink mockBatteryAlertSink;
+
+    private BatteryShardSweeper batteryShardSweeperUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final TelemetryProperties telemetryProperties = new TelemetryProperties();
+        telemetryProperties.setBatchSize(2);
+        batteryShardSweeperUnderTest = new BatteryShardSweeper(mockDroneService, mockEventLogBatchWriter,
+                telemetryProperties, new TelemetryDeadband(telemetryProperties, new SimpleMeterRegistry()),
+                new BatteryThresholdMonitor(List.of(mockBatteryAlertSink)));
+    }
+
+    @Test
+    void testSweep() {
+        // Setup
+        // Configure DroneService.streamBatteryLevels(...).
+        final DroneBatteryLevel drone = new DroneBatteryLevel(1L, "DR_55B", 25);
+        when(mockDroneService.streamBatteryLevels(1L, 10L)).thenReturn(Stream.of(drone));
+        when(mockEventLogBatchWriter.write(List.of(drone))).thenReturn(1);
+
+        // Run the test
+        final SweepSummary result = batteryShardSweeperUnderTest.sweep(1L, 10L);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new SweepSummary(1, 1, 0, 0, 0));
+        verify(mockEventLogBatchWriter).write(List.of(drone));
+        verifyNoInteractions(mockBatteryAlertSink);
+    }
+
+    @Test
+    void testSweep_WritesInBatches() {
+        // Setup
+        final DroneBatteryLevel first = new DroneBatteryLevel(1L, "DR_55A", 30);
+        final DroneBatteryLevel second = new DroneBatteryLevel(2L, "DR_55B", 20);
+        final DroneBatteryLevel third = new DroneBatteryLevel(3L, "DR_55C", 90);
+        when(mockDroneService.streamBatteryLevels(1L, 10L)).thenReturn(Stream.of(first, second, third));
+        when(mockEventLogBatchWriter.write(List.of(first, second))).thenReturn(2);
+        when(mockEventLogBatchWriter.write(List.of(third))).thenReturn(1);
+
+        // Run the test
+        final SweepSummary result = batteryShardSweeperUnderTest.sweep(1L, 10L);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new SweepSummary(3, 3, 1, 1, 0));
+        verify(mockBatteryAlertSink).publish(argThat(alert -> alert.type() == BatteryAlert.Type.LOW
+                && alert.serialNumber().equals("DR_55B")));
+        verify(mockEventLogBatchWriter).write(List.of(first, second));
+        verify(mockEventLogBatchWriter).write(List.of(third));
+    }
+
+    @Test
+    void testSweep_EmptyShard() {
+        // Setup
+        when(mockDroneService.streamBatteryLevels(1L, 10L)).thenReturn(Stream.empty());
+
+        // Run the test
+        final SweepSummary result = batteryShardSweeperUnderTest.sweep(1L, 10L);
+
+        // Verify the results
+        assertThat(result).isEqualTo(SweepSummary.EMPTY);
+        verifyNoInteractions(mockEventLogBatchWriter);
+    }
+
+}
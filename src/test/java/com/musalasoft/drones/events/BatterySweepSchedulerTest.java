@@ -0,0 +1,99 @@
+package com.musalasoft.drones.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatterySweepSchedulerTest {
+
+    @Mock
+    private EventLogService mockEventLogService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BatterySweepScheduler batterySweepSchedulerUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batterySweepSchedulerUnderTest = new BatterySweepScheduler(mockEventLogService, meterRegistry);
+    }
+
+    @Test
+    void testTriggerBatterySweep() {
+        // Setup
+        when(mockEventLogService.logBatteryLevel()).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Run the test
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+
+        // Verify the results
+        verify(mockEventLogService, times(2)).logBatteryLevel();
+        assertThat(meterRegistry.get("drones.telemetry.sweep.duration").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("drones.telemetry.sweep.skipped").counter().count()).isZero();
+    }
+
+    @Test
+    void testTriggerBatterySweep_PreviousSweepStillRunning() {
+        // Setup
+        final CompletableFuture<SweepSummary> runningSweep = new CompletableFuture<>();
+        when(mockEventLogService.logBatteryLevel()).thenReturn(runningSweep);
+
+        // Run the test
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+
+        // Verify the results
+        verify(mockEventLogService, times(1)).logBatteryLevel();
+        assertThat(meterRegistry.get("drones.telemetry.sweep.skipped").counter().count()).isEqualTo(1);
+
+        runningSweep.complete(null);
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+        verify(mockEventLogService, times(2)).logBatteryLevel();
+    }
+
+    @Test
+    void testTriggerBatterySweep_FailedSweepReleasesGuard() {
+        // Setup
+        when(mockEventLogService.logBatteryLevel())
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Run the test
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+
+        // Verify the results
+        verify(mockEventLogService, times(2)).logBatteryLevel();
+    }
+
+    @Test
+    void testTriggerBatterySweep_ExecutorQueueFull() {
+        // Setup
+        when(mockEventLogService.logBatteryLevel())
+                .thenThrow(new TaskRejectedException("queue full"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Run the test
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+        batterySweepSchedulerUnderTest.triggerBatterySweep();
+
+        // Verify the results
+        verify(mockEventLogService, times(2)).logBatteryLevel();
+        assertThat(meterRegistry.get("drones.telemetry.sweep.skipped").counter().count()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BatteryThresholdMonitorTest {
+
+    @Mock
+    private BatteryAlertSink mockFirstSink;
+    @Mock
+    private BatteryAlertSink mockSecondSink;
+
+    private BatteryThresholdMonitor batteryThresholdMonitorUnderTest;
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        batteryThresholdMonitorUnderTest = new BatteryThresholdMonitor(List.of(mockFirstSink, mockSecondSink));
+    }
+
+    private static DroneBatteryLevel reading(long droneId, int battery) {
+        return new DroneBatteryLevel(droneId, "DR-" + droneId, battery);
+    }
+
+    @Test
+    void testCheck_FirstSightingAlertsOnlyLowDrones() {
+        // Run the test
+        final SweepSummary result = batteryThresholdMonitorUnderTest.check(
+                List.of(reading(1L, 80), reading(2L, 24), reading(3L, 25)), now);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new SweepSummary(3, 0, 1, 1, 0));
+        verify(mockFirstSink).publish(new BatteryAlert(BatteryAlert.Type.LOW, 2L, "DR-2", 24, now));
+        verify(mockSecondSink).publish(new BatteryAlert(BatteryAlert.Type.LOW, 2L, "DR-2", 24, now));
+    }
+
+    @Test
+    void testCheck_OnlyCrossingsAlert() {
+        // Setup
+        batteryThresholdMonitorUnderTest.check(List.of(reading(1L, 30), reading(2L, 20), reading(3L, 10)), now);
+
+        // Run the test
+        final SweepSummary result = batteryThresholdMonitorUnderTest.check(
+                List.of(reading(1L, 20), reading(2L, 60), reading(3L, 9)), now.plusSeconds(100));
+
+        // Verify the results
+        assertThat(result).isEqualTo(new SweepSummary(3, 0, 2, 1, 1));
+        final ArgumentCaptor<BatteryAlert> alerts = ArgumentCaptor.forClass(BatteryAlert.class);
+        verify(mockFirstSink, times(4)).publish(alerts.capture());
+        assertThat(alerts.getAllValues()).extracting(BatteryAlert::type, BatteryAlert::serialNumber)
+                .containsExactly(
+                        tuple(BatteryAlert.Type.LOW, "DR-2"),
+                        tuple(BatteryAlert.Type.LOW, "DR-3"),
+                        tuple(BatteryAlert.Type.LOW, "DR-1"),
+                        tuple(BatteryAlert.Type.RECOVERED, "DR-2"));
+    }
+
+    @Test
+    void testCheck_NothingCrossed() {
+        // Run the test
+        final SweepSummary result = batteryThresholdMonitorUnderTest.check(List.of(reading(1L, 90)), now);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new SweepSummary(1, 0, 0, 0, 0));
+        verifyNoInteractions(mockFirstSink, mockSecondSink);
+    }
+
+    @Test
+    void testCheck_IdsBeyondIntRange() {
+        // Setup
+        final long droneId = Integer.MAX_VALUE + 10L;
+        batteryThresholdMonitorUnderTest.check(List.of(reading(droneId, 10)), now);
+
+        // Run the test
+        final SweepSummary result = batteryThresholdMonitorUnderTest.check(List.of(reading(droneId, 90)), now);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new SweepSummary(1, 0, 0, 0, 1));
+        verify(mockFirstSink).publish(new BatteryAlert(BatteryAlert.Type.RECOVERED, droneId, "DR-" + droneId, 90, now));
+    }
+
+    @Test
+    void testCheck_FailingSinkDoesNotStopOthers() {
+        // Setup
+        doThrow(new IllegalStateException("sink down")).when(mockFirstSink).publish(any());
+
+        // Run the test
+        batteryThresholdMonitorUnderTest.check(List.of(reading(1L, 5)), now);
+
+        // Verify the results
+        verify(mockSecondSink).publish(any());
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.DroneChangedEvent;
+import com.musalasoft.drones.drone.enums.State;
+import com.musalasoft.drones.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DroneEventStreamTest {
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    //Sender tasks are collected but never run, so buffers behave like a client that stopped reading
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    private DroneEventStreamProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DroneEventStream droneEventStreamUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DroneEventStreamProperties();
+        properties.setBufferSize(2);
+        properties.setMaxSubscribers(2);
+        meterRegistry = new SimpleMeterRegistry();
+        droneEventStreamUnderTest = new DroneEventStream(properties, pendingSends::add, meterRegistry);
+    }
+
+    @Test
+    void testSubscribe_RefusesAboveLimit() {
+        // Setup
+        droneEventStreamUnderTest.subscribe(Set.of(), Set.of());
+        droneEventStreamUnderTest.subscribe(Set.of(), Set.of());
+
+        // Run the test / Verify the results
+        assertThatThrownBy(() -> droneEventStreamUnderTest.subscribe(Set.of(), Set.of()))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(droneEventStreamUnderTest.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testSubscribe_ConcurrentSubscriptionsStayWithinLimit() throws Exception {
+        // Setup
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    droneEventStreamUnderTest.subscribe(Set.of(), Set.of());
+                    return true;
+                } catch (ServiceUnavailableException ex) {
+                    return false;
+                }
+            }));
+        }
+
+        // Run the test
+        start.countDown();
+        int accepted = 0;
+        for (Future<Boolean> attempt : attempts)
+            accepted += attempt.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        executor.shutdown();
+
+        // Verify the results
+        assertThat(accepted).isEqualTo(2);
+        assertThat(droneEventStreamUnderTest.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testSubscribe_DroppedSubscriberFreesItsSlot() {
+        // Setup
+        droneEventStreamUnderTest.subscribe(Set.of(), Set.of());
+        droneEventStreamUnderTest.subscribe(Set.of("DR-26"), Set.of());
+        for (int i = 0; i < 3; i++)
+            droneEventStreamUnderTest.onDroneChanged(new DroneChangedEvent("DR-25", State.LOADING, 80, now));
+
+        // Run the test
+        droneEventStreamUnderTest.subscribe(Set.of(), Set.of());
+
+        // Verify the results
+        assertThat(droneEventStreamUnderTest.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testOnDroneChanged_DropsSlowSubscriber() {
+        // Setup
+        droneEventStreamUnderTest.subscribe(Set.of(), Set.of());
+
+        // Run the test
+        for (int i = 0; i < 3; i++)
+            droneEventStreamUnderTest.onDroneChanged(new DroneChangedEvent("DR-25", State.LOADING, 80, now));
+
+        // Verify the results
+        assertThat(droneEventStreamUnderTest.subscriberCount()).isZero();
+        assertThat(meterRegistry.counter("drones.events.stream.published").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("drones.events.stream.dropped").count()).isEqualTo(1);
+        assertThat(pendingSends).hasSize(1);
+    }
+
+    @Test
+    void testOnDroneChanged_FiltersBySerialNumberAndState() {
+        // Setup
+        droneEventStreamUnderTest.subscribe(Set.of("DR-25"), Set.of(State.DELIVERING));
+
+        // Run the test
+        droneEventStreamUnderTest.onDroneChanged(new DroneChangedEvent("DR-26", State.DELIVERING, null, now));
+        droneEventStreamUnderTest.onDroneChanged(new DroneChangedEvent("DR-25", State.LOADING, null, now));
+        droneEventStreamUnderTest.publish(new BatteryAlert(BatteryAlert.Type.LOW, 1L, "DR-25", 20, now));
+        droneEventStreamUnderTest.onDroneChanged(new DroneChangedEvent("DR-25", State.DELIVERING, null, now));
+
+        // Verify the results
+        assertThat(meterRegistry.counter("drones.events.stream.published").count()).isEqualTo(1);
+        assertThat(droneEventStreamUnderTest.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testPublish_StreamsBatteryAlertsWithoutStateFilter() {
+        // Setup
+        droneEventStreamUnderTest.subscribe(Set.of("DR-25"), Set.of());
+
+        // Run the test
+        droneEventStreamUnderTest.publish(new BatteryAlert(BatteryAlert.Type.LOW, 1L, "DR-25", 20, now));
+        droneEventStreamUnderTest.publish(new BatteryAlert(BatteryAlert.Type.RECOVERED, 2L, "DR-26", 40, now));
+
+        // Verify the results
+        assertThat(meterRegistry.counter("drones.events.stream.published").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testHeartbeat_FullBufferDoesNotDropSubscriber() {
+        // Setup
+        droneEventStreamUnderTest.subscribe(Set.of(), Set.of());
+
+        // Run the test
+        for (int i = 0; i < 3; i++)
+            droneEventStreamUnderTest.heartbeat();
+
+        // Verify the results
+        assertThat(droneEventStreamUnderTest.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("drones.events.stream.dropped").count()).isZero();
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.enums.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DroneEventSubscriberTest {
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+
+    private final StalledEmitter emitter = new StalledEmitter();
+
+    private final DroneEventSubscriber droneEventSubscriberUnderTest = new DroneEventSubscriber(emitter, Set.of(),
+            Set.of(), 4, sender);
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdownNow();
+    }
+
+    @Test
+    void testStalled_OnlyWhileASendOutlastsTheTimeout() throws InterruptedException {
+        // Setup
+        final long timeout = Duration.ofSeconds(10).toNanos();
+        assertThat(droneEventSubscriberUnderTest.stalled(System.nanoTime() + 2 * timeout, timeout)).isFalse();
+
+        // Run the test
+        droneEventSubscriberUnderTest.offer(event());
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Verify the results
+        assertThat(droneEventSubscriberUnderTest.stalled(System.nanoTime(), timeout)).isFalse();
+        assertThat(droneEventSubscriberUnderTest.stalled(System.nanoTime() + 2 * timeout, timeout)).isTrue();
+    }
+
+    @Test
+    void testClose_DoesNotWaitOnAStalledSend() throws InterruptedException {
+        // Setup
+        droneEventSubscriberUnderTest.offer(event());
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Run the test
+        droneEventSubscriberUnderTest.close();
+
+        // Verify the results
+        assertThat(emitter.completed.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testAbort_InterruptsTheSendAndCompletesOnTheSender() throws InterruptedException {
+        // Setup
+        droneEventSubscriberUnderTest.offer(event());
+        assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Run the test
+        droneEventSubscriberUnderTest.abort();
+
+        // Verify the results
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(droneEventSubscriberUnderTest.stalled(System.nanoTime() + Long.MAX_VALUE / 2, 0)).isFalse();
+        assertThat(droneEventSubscriberUnderTest.offer(event())).isTrue();
+    }
+
+    private static DroneStreamEvent event() {
+        return new DroneStreamEvent("drone", "DR-25", State.LOADING, 80, Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    //A client that stopped reading, its sends only return when the sending thread is interrupted
+    private static class StalledEmitter extends SseEmitter {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+}
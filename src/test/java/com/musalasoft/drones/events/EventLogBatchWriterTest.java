@@ -0,0 +1,66 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.Drone;
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventLogBatchWriterTest {
+
+    @Mock
+    private EntityManager mockEntityManager;
+    @Mock
+    private Session mockSession;
+    @Mock
+    private BatteryRollupWriter mockBatteryRollupWriter;
+
+    private EventLogBatchWriter eventLogBatchWriterUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final TelemetryProperties telemetryProperties = new TelemetryProperties();
+        telemetryProperties.setBatchSize(2);
+        eventLogBatchWriterUnderTest = new EventLogBatchWriter(mockEntityManager, telemetryProperties,
+                mockBatteryRollupWriter);
+    }
+
+    @Test
+    void testWrite() {
+        // Setup
+        final List<DroneBatteryLevel> drones = List.of(
+                new DroneBatteryLevel(1L, "DR_55A", 30),
+                new DroneBatteryLevel(2L, "DR_55B", 20),
+                new DroneBatteryLevel(3L, "DR_55C", 90));
+        when(mockEntityManager.unwrap(Session.class)).thenReturn(mockSession);
+
+        // Run the test
+        final int result = eventLogBatchWriterUnderTest.write(drones);
+
+        // Verify the results
+        assertThat(result).isEqualTo(3);
+        verify(mockSession).setJdbcBatchSize(2);
+        verify(mockEntityManager, times(3)).getReference(eq(Drone.class), anyLong());
+        verify(mockEntityManager, times(3)).persist(any(EventLog.class));
+        verify(mockEntityManager, times(2)).flush();
+        verify(mockEntityManager, times(2)).clear();
+        verify(mockBatteryRollupWriter).apply(argThat(eventLogs -> eventLogs.size() == 3));
+    }
+
+}
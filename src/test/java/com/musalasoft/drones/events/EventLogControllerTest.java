@@ -0,0 +1,73 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.DroneService;
+import com.musalasoft.drones.drone.dtos.DroneRequest;
+import com.musalasoft.drones.drone.dtos.DroneView;
+import com.musalasoft.drones.drone.enums.Model;
+import com.musalasoft.drones.drone.enums.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Serializes both event log endpoints end to end. With open-in-view off, anything lazily reachable from the
+ * response fails here instead of in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventLogControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DroneService droneService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DroneView drone;
+
+    @BeforeEach
+    void setUp() {
+        String serialNumber = "EVT-" + System.nanoTime();
+        drone = droneService.createDrone(new DroneRequest(serialNumber, Model.LIGHT_WEIGHT, 300, 70, State.IDLE));
+        // Stamped in the future so these rows are the newest whatever other tests logged
+        LocalDateTime createdAt = LocalDateTime.now().plusYears(1);
+        for (int i = 0; i < 3; i++)
+            jdbcTemplate.update("insert into event_log (log_id, drone_id, batter_capacity_at_log_time, created_at) " +
+                            "values (next value for event_log_seq, ?, ?, ?)",
+                    drone.droneId(), 70 - i, Timestamp.valueOf(createdAt.plusSeconds(i)));
+    }
+
+    @Test
+    void testGetAll() throws Exception {
+        mockMvc.perform(get("/api/v1/eventlog").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].serialNumber").value(drone.serialNumber()))
+                .andExpect(jsonPath("$.content[0].droneId").value(drone.droneId()))
+                .andExpect(jsonPath("$.content[0].batteryCapacity").value(68))
+                .andExpect(jsonPath("$.content[0].drone").doesNotExist());
+    }
+
+    @Test
+    void testScroll() throws Exception {
+        mockMvc.perform(get("/api/v1/eventlog/scroll").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].serialNumber").value(hasItem(drone.serialNumber())))
+                .andExpect(jsonPath("$.content[0].batteryCapacity").value(68))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.musalasoft.drones.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one event log page at a deep position, offset paging with its count query against keyset paging.
+ * Rows are stamped a sweep at a time so many share a {@code createdAt} and the log id tie breaker is exercised.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark=EventLogPaginationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class EventLogPaginationBenchmark {
+
+    private static final int DRONES = 1_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "1000000"})
+    public int offset;
+
+    private ConfigurableApplicationContext context;
+    private EventLogService eventLogService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = TelemetryBenchmarkSupport.startApplication();
+        eventLogService = context.getBean(EventLogService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        TelemetryBenchmarkSupport.seedDrones(jdbcTemplate, DRONES);
+        seedEventLog(jdbcTemplate, 1_000_000 + 10 * PAGE_SIZE);
+
+        cursor = offset == 0 ? null : EventLogCursor.after(context.getBean(EventLogRepository.class)
+                .findNewest(PageRequest.of(offset - 1, 1)).getContent().get(0)).encode();
+    }
+
+    private static void seedEventLog(JdbcTemplate jdbcTemplate, int rows) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int id = 1; id <= rows; id++) {
+            int sweep = (id - 1) / DRONES;
+            batch.add(new Object[]{id, (id - 1) % DRONES + 1, 50, Timestamp.valueOf(start.plusMinutes(sweep))});
+            if (batch.size() == 10_000 || id == rows) {
+                jdbcTemplate.batchUpdate("insert into event_log (log_id, drone_id, batter_capacity_at_log_time, " +
+                        "created_at) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object offsetPage() {
+        return eventLogService.findAll(offset / PAGE_SIZE, PAGE_SIZE, "createdAt").getContent();
+    }
+
+    @Benchmark
+    public Object keysetPage() {
+        return eventLogService.scroll(cursor, PAGE_SIZE).getContent();
+    }
+
+}
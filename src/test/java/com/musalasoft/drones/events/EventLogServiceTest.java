@@ -1,10 +1,10 @@
 package com.musalasoft.drones.events;
 
-import com.musalasoft.drones.drone.Drone;
 import com.musalasoft.drones.drone.DroneService;
-import com.musalasoft.drones.drone.enums.Model;
-import com.musalasoft.drones.drone.enums.State;
-import com.musalasoft.drones.medication.Medication;
+import com.musalasoft.drones.drone.dtos.DroneIdRange;
+import com.musalasoft.drones.exceptions.DataNotFoundException;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,16 +12,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,77 +36,224 @@ class EventLogServiceTest {
     private DroneService mockDroneService;
     @Mock
     private EventLogRepository mockEventLogRepository;
+    @Mock
+    private BatteryRollupRepository mockBatteryRollupRepository;
+    @Mock
+    private BatteryShardSweeper mockBatteryShardSweeper;
+
+    private SimpleMeterRegistry meterRegistry;
 
     private EventLogService eventLogServiceUnderTest;
 
     @BeforeEach
     void setUp() {
-        eventLogServiceUnderTest = new EventLogService(mockDroneService, mockEventLogRepository);
+        final TelemetryProperties telemetryProperties = new TelemetryProperties();
+        telemetryProperties.setParallelism(2);
+        meterRegistry = new SimpleMeterRegistry();
+        eventLogServiceUnderTest = new EventLogService(mockDroneService, mockEventLogRepository, mockBatteryRollupRepository,
+                mockBatteryShardSweeper, telemetryProperties, meterRegistry, Runnable::run);
     }
 
     @Test
     void testLogBatteryLevel() {
         // Setup
-        // Configure DroneService.findAllDrones(...).
-        final List<Drone> drones = List.of(new Drone(0L, "DR_55B", Model.LIGHT_WEIGHT, 500, 25, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(0L, "name", 0, false, "MDC_33A", "imageUrl", null))));
-        when(mockDroneService.findAllDrones()).thenReturn(drones);
-
-        // Configure EventLogRepository.save(...).
-        final EventLog eventLog = new EventLog(0L, new Drone(0L, "DR_55B", Model.LIGHT_WEIGHT, 500, 25, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(0L, "name", 0, false, "MDC_33A", "imageUrl", null))), 0,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0));
-        when(mockEventLogRepository.save(any(EventLog.class))).thenReturn(eventLog);
+        // Configure DroneService.findDroneIdRange(...).
+        when(mockDroneService.findDroneIdRange()).thenReturn(Optional.of(new DroneIdRange(1L, 5L)));
+        when(mockBatteryShardSweeper.sweep(1L, 3L)).thenReturn(new SweepSummary(3, 3, 1, 1, 0));
+        when(mockBatteryShardSweeper.sweep(4L, 5L)).thenReturn(new SweepSummary(2, 1, 0, 0, 1));
 
         // Run the test
-        eventLogServiceUnderTest.logBatteryLevel();
+        final SweepSummary result = eventLogServiceUnderTest.logBatteryLevel().join();
 
         // Verify the results
-        verify(mockEventLogRepository).save(any(EventLog.class));
+        assertThat(result).isEqualTo(new SweepSummary(5, 4, 1, 1, 1));
+        verify(mockBatteryShardSweeper).sweep(1L, 3L);
+        verify(mockBatteryShardSweeper).sweep(4L, 5L);
+        assertThat(meterRegistry.get("drones.telemetry.shard.duration").tag("shard", "0").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("drones.telemetry.shard.duration").tag("shard", "1").timer().count()).isEqualTo(1);
     }
 
     @Test
-    void testLogBatteryLevel_CapacityGreaterThan25() {
+    void testLogBatteryLevel_FewerDronesThanShards() {
         // Setup
-        // Configure DroneService.findAllDrones(...).
-        final List<Drone> drones = List.of(new Drone(0L, "DR_55B", Model.LIGHT_WEIGHT, 500, 30, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(0L, "name", 0, false, "MDC_33A", "imageUrl", null))));
-        when(mockDroneService.findAllDrones()).thenReturn(drones);
-
-        // Configure EventLogRepository.save(...).
-        final EventLog eventLog = new EventLog(0L, new Drone(0L, "DR_55B", Model.LIGHT_WEIGHT, 500, 25, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(0L, "name", 0, false, "MDC_33A", "imageUrl", null))), 0,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0));
-        when(mockEventLogRepository.save(any(EventLog.class))).thenReturn(eventLog);
+        when(mockDroneService.findDroneIdRange()).thenReturn(Optional.of(new DroneIdRange(7L, 7L)));
+        when(mockBatteryShardSweeper.sweep(7L, 7L)).thenReturn(new SweepSummary(1, 1, 0, 0, 0));
 
         // Run the test
-        eventLogServiceUnderTest.logBatteryLevel();
+        eventLogServiceUnderTest.logBatteryLevel().join();
 
         // Verify the results
-        verify(mockEventLogRepository).save(any(EventLog.class));
+        verify(mockBatteryShardSweeper).sweep(7L, 7L);
+        verifyNoMoreInteractions(mockBatteryShardSweeper);
+    }
+
+    @Test
+    void testLogBatteryLevel_NoDrones() {
+        // Setup
+        when(mockDroneService.findDroneIdRange()).thenReturn(Optional.empty());
+
+        // Run the test
+        eventLogServiceUnderTest.logBatteryLevel().join();
+
+        // Verify the results
+        verifyNoInteractions(mockBatteryShardSweeper);
     }
 
 
     @Test
     void testFindAll() {
         // Setup
-        // Configure EventLogRepository.findAll(...).
-        final Page<EventLog> eventLogs = new PageImpl<>(List.of(new EventLog(0L, new Drone(0L, "DR_55B", Model.LIGHT_WEIGHT, 500, 25, State.IDLE,
-                LocalDateTime.of(2020, 1, 1, 0, 0, 0),
-                Set.of(new Medication(0L, "name", 0, false, "MDC_33A", "imageUrl", null))), 0,
+        // Configure EventLogRepository.findAllViews(...).
+        final Page<EventLogView> eventLogs = new PageImpl<>(List.of(new EventLogView(0L, 0L, "DR_55B", 25,
                 LocalDateTime.of(2020, 1, 1, 0, 0, 0))));
-        when(mockEventLogRepository.findAll(any(Pageable.class))).thenReturn(eventLogs);
+        when(mockEventLogRepository.findAllViews(any(Pageable.class))).thenReturn(eventLogs);
 
         // Run the test
-        final Page<EventLog> result = eventLogServiceUnderTest.findAll(0, 10, "sort");
+        final Page<EventLogView> result = eventLogServiceUnderTest.findAll(0, 10, "sort");
 
         // Verify the result
         assertThat(result.getContent()).isEqualTo(eventLogs.getContent());
 
     }
 
+    @Test
+    void testScroll_FirstPage() {
+        // Setup
+        final EventLogView eventLog = new EventLogView(7L, 1L, "DR_55B", 80, LocalDateTime.of(2020, 1, 1, 0, 0, 0));
+        when(mockEventLogRepository.findNewest(PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(eventLog), PageRequest.ofSize(1), true));
+
+        // Run the test
+        final Slice<EventLogView> result = eventLogServiceUnderTest.scroll(null, 1);
+
+        // Verify the results
+        assertThat(result.getContent()).containsExactly(eventLog);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void testScroll_FromCursor() {
+        // Setup
+        final LocalDateTime createdAt = LocalDateTime.of(2020, 1, 1, 0, 0, 0, 123_456_000);
+        final String cursor = EventLogCursor.after(new EventLogView(7L, 1L, "DR_55B", 80, createdAt)).encode();
+        when(mockEventLogRepository.findAllBefore(createdAt, 7L, PageRequest.ofSize(10)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // Run the test
+        final Slice<EventLogView> result = eventLogServiceUnderTest.scroll(cursor, 10);
+
+        // Verify the results
+        assertThat(result.hasNext()).isFalse();
+        verify(mockEventLogRepository).findAllBefore(createdAt, 7L, PageRequest.ofSize(10));
+    }
+
+    @Test
+    void testScroll_InvalidCursor() {
+        assertThatThrownBy(() -> eventLogServiceUnderTest.scroll("not-a-cursor", 10))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(mockEventLogRepository);
+    }
+
+    @Test
+    void testScroll_InvalidSize() {
+        assertThatThrownBy(() -> eventLogServiceUnderTest.scroll(null, 0))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> eventLogServiceUnderTest.scroll(null, EventLogService.MAX_SCROLL_SIZE + 1))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void testFindBatteryHistory() {
+        // Setup
+        final LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+        final LocalDateTime to = from.plusHours(6);
+        final List<BatteryReading> readings = List.of(new BatteryReading(from.plusMinutes(5), 90));
+        when(mockDroneService.findDroneId("DR-1")).thenReturn(3L);
+        when(mockEventLogRepository.findBatteryHistory(3L, from, to)).thenReturn(readings);
+
+        // Run the test
+        final BatteryHistoryResponse result = eventLogServiceUnderTest.findBatteryHistory("DR-1", from, to);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new BatteryHistoryResponse("DR-1", from, to, readings));
+    }
+
+    @Test
+    void testFindBatteryHistory_DefaultsToLastDay() {
+        // Setup
+        final LocalDateTime to = LocalDateTime.of(2020, 1, 2, 0, 0, 0);
+        when(mockDroneService.findDroneId("DR-1")).thenReturn(3L);
+        when(mockEventLogRepository.findBatteryHistory(3L, to.minusDays(1), to)).thenReturn(List.of());
+
+        // Run the test
+        final BatteryHistoryResponse result = eventLogServiceUnderTest.findBatteryHistory("DR-1", null, to);
+
+        // Verify the results
+        assertThat(result.from()).isEqualTo(to.minusDays(1));
+        assertThat(result.readings()).isEmpty();
+    }
+
+    @Test
+    void testFindBatteryHistory_InvalidRange() {
+        final LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+        assertThatThrownBy(() -> eventLogServiceUnderTest.findBatteryHistory("DR-1", from, from))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> eventLogServiceUnderTest.findBatteryHistory("DR-1", from, from.plusDays(32)))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(mockEventLogRepository);
+    }
+
+    @Test
+    void testFindBatteryHistory_UnknownDrone() {
+        // Setup
+        when(mockDroneService.findDroneId("DR-9")).thenThrow(new DataNotFoundException("Drone not found"));
+
+        // Run the test
+        assertThatThrownBy(() -> eventLogServiceUnderTest.findBatteryHistory("DR-9", null, null))
+                .isInstanceOf(DataNotFoundException.class);
+        verifyNoInteractions(mockEventLogRepository);
+    }
+
+    @Test
+    void testFindBatteryTrend_PicksFinestGranularityThatFits() {
+        // Setup
+        final LocalDateTime from = LocalDateTime.of(2020, 1, 1, 10, 30, 15);
+        final LocalDateTime to = from.plusDays(7);
+        final List<BatteryTrendPoint> points = List.of(
+                new BatteryTrendPoint(LocalDateTime.of(2020, 1, 1, 10, 0, 0), 60, 80, 70.0, 60));
+        when(mockDroneService.findDroneId("DR-1")).thenReturn(3L);
+        when(mockBatteryRollupRepository.findTrend(3L, RollupGranularity.HOUR,
+                LocalDateTime.of(2020, 1, 1, 10, 0, 0), to)).thenReturn(points);
+
+        // Run the test
+        final BatteryTrendResponse result = eventLogServiceUnderTest.findBatteryTrend("DR-1", from, to, 500);
+
+        // Verify the results
+        assertThat(result).isEqualTo(new BatteryTrendResponse("DR-1", RollupGranularity.HOUR, from, to, points));
+    }
+
+    @Test
+    void testFindBatteryTrend_Granularities() {
+        final LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+        assertThat(RollupGranularity.forRange(from, from.plusHours(6), 500)).contains(RollupGranularity.MINUTE);
+        assertThat(RollupGranularity.forRange(from, from.plusHours(12), 500)).contains(RollupGranularity.HOUR);
+        assertThat(RollupGranularity.forRange(from, from.plusDays(90), 500)).contains(RollupGranularity.DAY);
+        assertThat(RollupGranularity.forRange(from, from.plusDays(600), 500)).isEmpty();
+    }
+
+    @Test
+    void testFindBatteryTrend_InvalidRequest() {
+        final LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+
+        assertThatThrownBy(() -> eventLogServiceUnderTest.findBatteryTrend("DR-1", from, from.plusDays(1), 0))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> eventLogServiceUnderTest.findBatteryTrend("DR-1", from, from, 500))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> eventLogServiceUnderTest.findBatteryTrend("DR-1", from, from.plusDays(600), 500))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(mockBatteryRollupRepository);
+    }
+
 }
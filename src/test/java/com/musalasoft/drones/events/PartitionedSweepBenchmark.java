@@ -0,0 +1,68 @@
+package com.musalasoft.drones.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sweep time of the partitioned battery sweep for a growing number of parallel shards.
+ * Per-shard timings are printed after each trial from the drones.telemetry.shard.duration timers.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark=PartitionedSweepBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PartitionedSweepBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int drones;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private EventLogService eventLogService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = TelemetryBenchmarkSupport.startApplication(
+                "drones.telemetry.parallelism=" + parallelism,
+                "spring.datasource.hikari.maximum-pool-size=" + (2 * parallelism + 2));
+
+        eventLogService = context.getBean(EventLogService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        TelemetryBenchmarkSupport.seedDrones(jdbcTemplate, drones);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearEventLog() {
+        jdbcTemplate.execute("truncate table event_log");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.getBean(MeterRegistry.class).find("drones.telemetry.shard.duration").timers()
+                .forEach(this::printShardTiming);
+        context.close();
+    }
+
+    private void printShardTiming(Timer timer) {
+        System.out.printf("shard %s: mean %.1f ms, max %.1f ms over %d sweeps%n", timer.getId().getTag("shard"),
+                timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS), timer.count());
+    }
+
+    @Benchmark
+    public void partitionedSweep() {
+        eventLogService.logBatteryLevel().join();
+    }
+
+}
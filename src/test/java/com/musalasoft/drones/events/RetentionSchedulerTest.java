@@ -0,0 +1,62 @@
+package com.musalasoft.drones.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionSchedulerTest {
+
+    @Mock
+    private RetentionService mockRetentionService;
+
+    private RetentionScheduler retentionSchedulerUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        retentionSchedulerUnderTest = new RetentionScheduler(mockRetentionService);
+    }
+
+    @Test
+    void testTriggerPurge_SkipsWhilePreviousRunIsBusy() {
+        // Setup
+        final CompletableFuture<Long> running = new CompletableFuture<>();
+        when(mockRetentionService.purgeExpired())
+                .thenReturn(running)
+                .thenReturn(CompletableFuture.completedFuture(0L));
+
+        // Run the test
+        retentionSchedulerUnderTest.triggerPurge();
+        retentionSchedulerUnderTest.triggerPurge();
+        running.complete(10L);
+        retentionSchedulerUnderTest.triggerPurge();
+
+        // Verify the results
+        verify(mockRetentionService, times(2)).purgeExpired();
+    }
+
+    @Test
+    void testTriggerPurge_QueueFull() {
+        // Setup
+        when(mockRetentionService.purgeExpired())
+                .thenThrow(new TaskRejectedException("queue full"))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+
+        // Run the test
+        retentionSchedulerUnderTest.triggerPurge();
+        retentionSchedulerUnderTest.triggerPurge();
+
+        // Verify the results
+        verify(mockRetentionService, times(2)).purgeExpired();
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.musalasoft.drones.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class RetentionServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path archiveDirectory;
+
+    private RetentionProperties retentionProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    private RetentionService retentionServiceUnderTest;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 30, 0);
+
+    @BeforeEach
+    void setUp() {
+        retentionProperties = new RetentionProperties();
+        retentionProperties.setBatchSize(4);
+        retentionProperties.getArchive().setDirectory(archiveDirectory);
+        meterRegistry = new SimpleMeterRegistry();
+        retentionServiceUnderTest = new RetentionService(jdbcTemplate, transactionTemplate, retentionProperties,
+                meterRegistry);
+
+        jdbcTemplate.update("insert into drone (drone_id, serial_number, model, weight_limit, battery_capacity, " +
+                "drone_state, registered_at) values (1, 'DR-1', 'LIGHT_WEIGHT', 500, 80, 'IDLE', current_timestamp)");
+        //Every third row is recent, log ids do not follow creation time
+        for (int id = 1; id <= 30; id++) {
+            LocalDateTime createdAt = id % 3 == 0 ? now.minusDays(1) : now.minusDays(40).plusMinutes(id);
+            jdbcTemplate.update("insert into event_log (log_id, drone_id, batter_capacity_at_log_time, created_at) " +
+                    "values (?, 1, 50, ?)", id, Timestamp.valueOf(createdAt));
+        }
+        for (int minutes = 0; minutes < 10; minutes++) {
+            insertRollup(RollupGranularity.MINUTE, now.minusDays(8).plusMinutes(minutes));
+            insertRollup(RollupGranularity.MINUTE, now.minusDays(6).plusMinutes(minutes));
+        }
+        insertRollup(RollupGranularity.HOUR, now.minusDays(400));
+        insertRollup(RollupGranularity.DAY, now.minusDays(400));
+    }
+
+    private void insertRollup(RollupGranularity granularity, LocalDateTime time) {
+        jdbcTemplate.update("insert into battery_rollup (drone_id, granularity, bucket_start, min_battery, " +
+                        "max_battery, battery_sum, readings, last_battery, last_reading_at) values (1, ?, ?, 50, 50, 50, 1, 50, ?)",
+                granularity.name(), Timestamp.valueOf(granularity.bucketOf(time)), Timestamp.valueOf(time));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    @Test
+    void testPurge() {
+        // Run the test
+        final long result = retentionServiceUnderTest.purge(now);
+
+        // Verify the results
+        assertThat(result).isEqualTo(20 + 10 + 1);
+        assertThat(count("select count(*) from event_log")).isEqualTo(10);
+        assertThat(count("select count(*) from event_log where mod(log_id, 3) <> 0")).isZero();
+        assertThat(count("select count(*) from battery_rollup where granularity = 'MINUTE'")).isEqualTo(10);
+        assertThat(count("select count(*) from battery_rollup where granularity = 'HOUR'")).isZero();
+        assertThat(count("select count(*) from battery_rollup where granularity = 'DAY'")).isEqualTo(1);
+        assertThat(meterRegistry.get("drones.retention.purged").tags("table", "event_log").counter().count())
+                .isEqualTo(20);
+        assertThat(meterRegistry.get("drones.retention.purged").tags("granularity", "minute").counter().count())
+                .isEqualTo(10);
+        assertThat(meterRegistry.get("drones.retention.duration").tags("table", "event_log").timer().count())
+                .isEqualTo(1);
+        try (Stream<Path> files = Files.list(archiveDirectory)) {
+            assertThat(files).isEmpty();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void testPurge_ArchivesBeforeDeleting() throws IOException {
+        // Setup
+        retentionProperties.getArchive().setEnabled(true);
+        retentionProperties.setRaw(Duration.ofDays(30));
+
+        // Run the test
+        retentionServiceUnderTest.purge(now);
+
+        // Verify the results
+        final Path archive = archiveDirectory.resolve("event_log-20240601T123000.csv.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            final List<String> lines = reader.lines().toList();
+            assertThat(lines).hasSize(21);
+            assertThat(lines.get(0)).isEqualTo("log_id,drone_id,battery_capacity,created_at");
+            assertThat(lines.get(1)).isEqualTo("1,1,50," + now.minusDays(40).plusMinutes(1));
+            assertThat(lines.get(20)).startsWith("29,1,50,");
+        }
+        assertThat(count("select count(*) from event_log")).isEqualTo(10);
+    }
+
+    @Test
+    void testPurge_NothingExpired() {
+        // Run the test
+        final long result = retentionServiceUnderTest.purge(now.minusDays(60));
+
+        // Verify the results
+        assertThat(result).isZero();
+        assertThat(count("select count(*) from event_log")).isEqualTo(30);
+    }
+
+}
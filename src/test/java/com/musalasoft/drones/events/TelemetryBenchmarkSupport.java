@@ -0,0 +1,49 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.DronesApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shared setup for the telemetry benchmarks: a non-web application context with scheduling
+ * switched off and a fleet of drones inserted straight through JDBC.
+ */
+public final class TelemetryBenchmarkSupport {
+
+    private TelemetryBenchmarkSupport() {
+    }
+
+    public static ConfigurableApplicationContext startApplication(String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DronesApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=warn")
+                .properties(properties)
+                .run();
+
+        context.getBeansOfType(ScheduledTaskHolder.class).values()
+                .forEach(holder -> holder.getScheduledTasks().forEach(ScheduledTask::cancel));
+        return context;
+    }
+
+    public static void seedDrones(JdbcTemplate jdbcTemplate, int drones) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int id = 1; id <= drones; id++) {
+            rows.add(new Object[]{id, "DR-" + id, "LIGHT_WEIGHT", 500, random.nextInt(26, 101), "IDLE"});
+            if (rows.size() == 10_000 || id == drones) {
+                jdbcTemplate.batchUpdate("insert into drone (drone_id, serial_number, model, weight_limit, " +
+                        "battery_capacity, drone_state, registered_at) values (?, ?, ?, ?, ?, ?, current_timestamp)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.dtos.DroneBatteryLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetryDeadbandTest {
+
+    private TelemetryProperties telemetryProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    private TelemetryDeadband telemetryDeadbandUnderTest;
+
+    private final Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        telemetryProperties = new TelemetryProperties();
+        telemetryProperties.getDeadband().setEnabled(true);
+        telemetryProperties.getDeadband().setDelta(5);
+        telemetryProperties.getDeadband().setHeartbeat(Duration.ofMinutes(30));
+        meterRegistry = new SimpleMeterRegistry();
+        telemetryDeadbandUnderTest = new TelemetryDeadband(telemetryProperties, meterRegistry);
+    }
+
+    private static DroneBatteryLevel reading(long droneId, int battery) {
+        return new DroneBatteryLevel(droneId, "DR-" + droneId, battery);
+    }
+
+    @Test
+    void testFilter() {
+        // Setup
+        final List<DroneBatteryLevel> first = List.of(reading(1L, 80), reading(2L, 50), reading(3L, 30));
+        telemetryDeadbandUnderTest.logged(telemetryDeadbandUnderTest.filter(first, start), start);
+        final List<DroneBatteryLevel> second = List.of(reading(1L, 76), reading(2L, 45), reading(3L, 36));
+
+        // Run the test
+        final List<DroneBatteryLevel> result = telemetryDeadbandUnderTest.filter(second, start.plusSeconds(100));
+
+        // Verify the results
+        assertThat(result).containsExactly(reading(2L, 45), reading(3L, 36));
+        assertThat(meterRegistry.get("drones.telemetry.deadband.suppressed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFilter_HeartbeatDue() {
+        // Setup
+        telemetryDeadbandUnderTest.logged(List.of(reading(1L, 80)), start);
+
+        // Run the test
+        final List<DroneBatteryLevel> early = telemetryDeadbandUnderTest.filter(List.of(reading(1L, 80)),
+                start.plus(Duration.ofMinutes(29)));
+        final List<DroneBatteryLevel> due = telemetryDeadbandUnderTest.filter(List.of(reading(1L, 80)),
+                start.plus(Duration.ofMinutes(30)));
+
+        // Verify the results
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly(reading(1L, 80));
+    }
+
+    @Test
+    void testFilter_NotRememberedUntilLogged() {
+        // Setup
+        telemetryDeadbandUnderTest.filter(List.of(reading(1L, 80)), start);
+
+        // Run the test
+        final List<DroneBatteryLevel> result = telemetryDeadbandUnderTest.filter(List.of(reading(1L, 80)),
+                start.plusSeconds(100));
+
+        // Verify the results
+        assertThat(result).containsExactly(reading(1L, 80));
+    }
+
+    @Test
+    void testFilter_Disabled() {
+        // Setup
+        telemetryProperties.getDeadband().setEnabled(false);
+        telemetryDeadbandUnderTest.logged(List.of(reading(1L, 80)), start);
+
+        // Run the test
+        final List<DroneBatteryLevel> result = telemetryDeadbandUnderTest.filter(List.of(reading(1L, 80)), start);
+
+        // Verify the results
+        assertThat(result).containsExactly(reading(1L, 80));
+        assertThat(telemetryDeadbandUnderTest.size()).isZero();
+    }
+
+    @Test
+    void testLogged_GrowsPastInitialCapacity() {
+        // Setup
+        final List<DroneBatteryLevel> fleet = new ArrayList<>();
+        LongStream.rangeClosed(1, 10_000).forEach(id -> fleet.add(reading(id, (int) (id % 101))));
+
+        // Run the test
+        telemetryDeadbandUnderTest.logged(fleet, start);
+
+        // Verify the results
+        assertThat(telemetryDeadbandUnderTest.size()).isEqualTo(10_000);
+        assertThat(telemetryDeadbandUnderTest.filter(fleet, start.plusSeconds(100))).isEmpty();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.musalasoft.drones.events;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetryPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(Config.class);
+
+    @Test
+    void testParallelism_Bound() {
+        contextRunner.withPropertyValues("drones.telemetry.parallelism=8")
+                .run(context -> assertThat(context.getBean(TelemetryProperties.class).getParallelism()).isEqualTo(8));
+    }
+
+    @Test
+    void testParallelism_ZeroFailsStartup() {
+        contextRunner.withPropertyValues("drones.telemetry.parallelism=0")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("parallelism"));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(TelemetryProperties.class)
+    static class Config {
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.musalasoft.drones.events;
+
+import com.musalasoft.drones.drone.DroneRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sweep time of the batched telemetry writer against the original one save per drone.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark=TelemetrySweepBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TelemetrySweepBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int drones;
+
+    //With the deadband on, the warmup sweep logs every drone and later sweeps of the parked fleet log nothing
+    @Param({"false", "true"})
+    public boolean deadband;
+
+    private ConfigurableApplicationContext context;
+    private EventLogService eventLogService;
+    private DroneRepository droneRepository;
+    private EventLogRepository eventLogRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = TelemetryBenchmarkSupport.startApplication("drones.telemetry.deadband.enabled=" + deadband);
+
+        eventLogService = context.getBean(EventLogService.class);
+        droneRepository = context.getBean(DroneRepository.class);
+        eventLogRepository = context.getBean(EventLogRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        TelemetryBenchmarkSupport.seedDrones(jdbcTemplate, drones);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearEventLog() {
+        jdbcTemplate.execute("truncate table event_log");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perRowSave() {
+        droneRepository.findAll().forEach(drone -> eventLogRepository.save(EventLog.builder()
+                .batterCapacityAtLogTime(drone.getBatteryCapacity())
+                .drone(drone)
+                .build()));
+    }
+
+    @Benchmark
+    public void batchedSweep() {
+        eventLogService.logBatteryLevel().join();
+    }
+
+}
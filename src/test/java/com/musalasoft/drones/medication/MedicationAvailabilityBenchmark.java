@@ -0,0 +1,84 @@
+package com.musalasoft.drones.medication;
+
+import com.musalasoft.drones.events.TelemetryBenchmarkSupport;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flipping availability of already loaded medications with the set-based update against the previous
+ * parallel stream and one save per entity. Both sides pay the same entity load.
+ * Run with {@code mvn -Pbenchmark test -Dbenchmark=MedicationAvailabilityBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MedicationAvailabilityBenchmark {
+
+    private static final int SEEDED = 50_000;
+
+    @Param({"10", "1000", "50000"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private MedicationRepository medicationRepository;
+    private MedicationService medicationService;
+    private boolean available = true;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = TelemetryBenchmarkSupport.startApplication("logging.level.org.hibernate.persister=error");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+        medicationRepository = context.getBean(MedicationRepository.class);
+        medicationService = context.getBean(MedicationService.class);
+
+        List<Object[]> rows = new ArrayList<>(SEEDED);
+        for (int id = 1; id <= SEEDED; id++)
+            rows.add(new Object[]{id, "MED-" + id, 10, "MDC_" + id});
+        context.getBean(JdbcTemplate.class).batchUpdate("insert into medication " +
+                "(medication_id, medication_name, weight, available, code) values (?, ?, ?, true, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perEntitySave() {
+        boolean target = !available;
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Medication> medications = loadMedications();
+            medications.parallelStream().forEach(medication -> medication.setAvailable(target));
+            medicationRepository.saveAll(medications);
+        });
+        available = target;
+    }
+
+    @Benchmark
+    public void bulkUpdate() {
+        boolean target = !available;
+        transactionTemplate.executeWithoutResult(status ->
+                medicationService.updateMedicationAvailability(loadMedications(), target, null));
+        available = target;
+    }
+
+    private List<Medication> loadMedications() {
+        return entityManager.createQuery("from Medication m where m.medicationId <= :items", Medication.class)
+                .setParameter("items", (long) items)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.musalasoft.drones.medication;
+
+import com.musalasoft.drones.config.BatchRegistration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.musalasoft.drones.exceptions.InvalidRequestException;
+import com.musalasoft.drones.medication.dtos.MedicationImportResponse;
+import com.musalasoft.drones.medication.dtos.MedicationRequest;
+import com.musalasoft.drones.medication.dtos.RejectedLine;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MedicationImportServiceTest {
+
+    @Mock
+    private MedicationRepository mockMedicationRepository;
+    @Mock
+    private MedicationBatchWriter mockMedicationBatchWriter;
+
+    private final MedicationImportProperties properties = new MedicationImportProperties();
+
+    private MedicationImportService medicationImportServiceUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(2);
+        medicationImportServiceUnderTest = new MedicationImportService(mockMedicationRepository,
+                mockMedicationBatchWriter, properties, new BatchRegistration(Validation.buildDefaultValidatorFactory().getValidator()),
+                new ObjectMapper());
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportMedications_Ndjson() {
+        // Setup
+        when(mockMedicationRepository.findExistingCodes(anySet())).thenReturn(Set.of("MDC_2"));
+        when(mockMedicationBatchWriter.write(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        final String ndjson = """
+                {"name":"PARA","weight":50,"code":"MDC_1"}
+                {"name":"IBU","weight":60,"code":"MDC_2"}
+
+                {"name":"bad name!","weight":70,"code":"MDC_3"}
+                {"name":"ASPI","weight":70,"code":"MDC_4"
+                {"name":"ASPI","weight":70,"code":"MDC_5"}
+                """;
+
+        // Run the test
+        final MedicationImportResponse result = medicationImportServiceUnderTest.importMedications(
+                body(ndjson), MedicationImportFormat.NDJSON);
+
+        // Verify the results
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.rejections()).extracting(RejectedLine::line).containsExactly(2L, 4L, 5L);
+        assertThat(result.rejections().get(0).reason()).isEqualTo("Medication already exists with this code");
+        assertThat(result.rejections().get(1).reason()).startsWith("name ");
+        assertThat(result.rejections().get(2).reason()).startsWith("Malformed JSON");
+        verify(mockMedicationRepository, times(2)).findExistingCodes(anySet());
+    }
+
+    @Test
+    void testImportMedications_Csv() {
+        // Setup
+        when(mockMedicationRepository.findExistingCodes(anySet())).thenReturn(Set.of());
+        when(mockMedicationBatchWriter.write(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        final String csv = """
+                code,name,weight,imageUrl
+                MDC_1,PARA,50,"https://img.example/a,b.png"
+                MDC_2,IBU,heavy,
+                MDC_1,PARA,50,
+                """;
+
+        // Run the test
+        final MedicationImportResponse result = medicationImportServiceUnderTest.importMedications(
+                body(csv), MedicationImportFormat.CSV);
+
+        // Verify the results
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.rejections()).containsExactly(
+                new RejectedLine(3, null, "Weight is not a number : heavy"),
+                new RejectedLine(4, "MDC_1", "Code repeated earlier in the import"));
+        verify(mockMedicationBatchWriter).write(List.of(
+                new MedicationRequest("PARA", 50, "MDC_1", "https://img.example/a,b.png")));
+    }
+
+    @Test
+    void testImportMedications_CsvWithoutRequiredColumns() {
+        // Run the test
+        assertThatThrownBy(() -> medicationImportServiceUnderTest.importMedications(
+                body("name,imageUrl\nPARA,\n"), MedicationImportFormat.CSV))
+                .isInstanceOf(InvalidRequestException.class);
+        verify(mockMedicationBatchWriter, never()).write(any());
+    }
+
+    @Test
+    void testImportMedications_NullLineRejected() {
+        // Setup
+        when(mockMedicationRepository.findExistingCodes(anySet())).thenReturn(Set.of());
+        when(mockMedicationBatchWriter.write(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        // Run the test
+        final MedicationImportResponse result = medicationImportServiceUnderTest.importMedications(body("""
+                null
+                {"name":"PARA","weight":50,"code":"MDC_1"}
+                """), MedicationImportFormat.NDJSON);
+
+        // Verify the results
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.rejections()).containsExactly(
+                new RejectedLine(1, null, "Line must be a JSON object, found : null"));
+    }
+
+    @Test
+    void testImportMedications_RejectionsListCapped() {
+        // Setup
+        properties.setMaxRejections(2);
+        when(mockMedicationRepository.findExistingCodes(anySet())).thenReturn(Set.of("MDC_1", "MDC_2"));
+        final String ndjson = """
+                {"name":"PARA","weight":50,"code":"MDC_1"}
+                {"name":"bad name!","weight":70,"code":"MDC_3"}
+                {"name":"IBU","weight":60,"code":"MDC_2"}
+                {"name":"bad name!","weight":70,"code":"MDC_4"}
+                """;
+
+        // Run the test
+        final MedicationImportResponse result = medicationImportServiceUnderTest.importMedications(
+                body(ndjson), MedicationImportFormat.NDJSON);
+
+        // Verify the results
+        assertThat(result.accepted()).isZero();
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.rejections()).extracting(RejectedLine::code).containsExactly("MDC_1", "MDC_3");
+    }
+
+    @Test
+    void testImportMedications_ConcurrentRegistrationRechecked() {
+        // Setup
+        when(mockMedicationRepository.findExistingCodes(anySet()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("MDC_1"));
+        when(mockMedicationBatchWriter.write(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenReturn(1);
+
+        // Run the test
+        final MedicationImportResponse result = medicationImportServiceUnderTest.importMedications(body("""
+                {"name":"PARA","weight":50,"code":"MDC_1"}
+                {"name":"IBU","weight":60,"code":"MDC_2"}
+                """), MedicationImportFormat.NDJSON);
+
+        // Verify the results
+        assertThat(result.accepted()).isEqualTo(1);
+        assertThat(result.rejections()).extracting(RejectedLine::code).containsExactly("MDC_1");
+    }
+
+}
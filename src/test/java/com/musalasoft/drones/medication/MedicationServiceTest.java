@@ -14,17 +14,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.InstanceOfAssertFactories.atomicIntegerFieldUpdater;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,8 +53,8 @@ class MedicationServiceTest {
         final MedicationRequest request = new MedicationRequest("name", 500, "MDC_33A", "imageUrl");
 
         // Configure MedicationRepository.findMedicationByCode(...).
-        final Optional<Medication> medication = Optional.of(new Medication(1L, "name", 500, false, "MDC_33A", "imageUrl",
-                new Drone(1L, "MDC_32A", Model.LIGHT_WEIGHT, 0, 0, State.IDLE,
+        final Optional<Medication> medication = Optional.of(new Medication(1L, null, "name", 500, false, "MDC_33A", "imageUrl",
+                new Drone(1L, null, "MDC_32A", Model.LIGHT_WEIGHT, 0, 0, 0, 0, State.IDLE,
                         LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of())));
         when(mockMedicationRepository.findMedicationByCode("MDC_33A")).thenReturn(medication);
 
@@ -63,11 +69,11 @@ class MedicationServiceTest {
     void testAddMedication_MedicationRepositoryFindMedicationByCodeReturnsAbsent() {
         // Setup
         final MedicationRequest request = new MedicationRequest("name", 0, "MDC_33A", "imageUrl");
-        final Medication expectedResult = new Medication(1L, "name", 500, false, "MDC_33A", "imageUrl",null);
+        final Medication expectedResult = new Medication(1L, null, "name", 500, false, "MDC_33A", "imageUrl",null);
         when(mockMedicationRepository.findMedicationByCode("MDC_33A")).thenReturn(Optional.empty());
 
         // Configure MedicationRepository.save(...).
-        final Medication medication = new Medication(1L, "name", 500, false, "MDC_33A", "imageUrl",null);
+        final Medication medication = new Medication(1L, null, "name", 500, false, "MDC_33A", "imageUrl",null);
         when(mockMedicationRepository.save(any(Medication.class))).thenReturn(medication);
 
         // Run the test
@@ -83,7 +89,7 @@ class MedicationServiceTest {
         // Setup
         // Configure MedicationRepository.findAll(...).
         final Page<Medication> medications = new PageImpl<>(
-                List.of(new Medication(1L, "name", 0, false, "MDC_33A", "imageUrl",
+                List.of(new Medication(1L, null, "name", 0, false, "MDC_33A", "imageUrl",
                         null)));
         when(mockMedicationRepository.findAll(any(Pageable.class))).thenReturn(medications);
 
@@ -109,11 +115,11 @@ class MedicationServiceTest {
     @Test
     void testFindAllAvailableByCodes() {
         // Setup
-        final Set<Medication> expectedResult = Set.of(new Medication(1L, "name", 300,
+        final Set<Medication> expectedResult = Set.of(new Medication(1L, null, "name", 300,
                 true, "MDC_33A", "imageUrl",null));
 
         // Configure MedicationRepository.findByCodeInAndAvailable(...).
-        final Set<Medication> medications = Set.of(new Medication(1L, "name", 300,
+        final Set<Medication> medications = Set.of(new Medication(1L, null, "name", 300,
                 true, "MDC_33A", "imageUrl",null));
         when(mockMedicationRepository.findByCodeInAndAvailable(Set.of("MDC_33A"), true)).thenReturn(medications);
 
@@ -140,27 +146,85 @@ class MedicationServiceTest {
     @Test
     void testUpdateMedicationAvailability() {
         // Setup
-        final Set<Medication> medications = Set.of(new Medication(1L, "name", 300, false, "MDC_33A", "imageUrl",
-                new Drone(1L, "MDC_32A", Model.LIGHT_WEIGHT, 300, 59, State.IDLE,
-                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of())));
+        final Medication medication = new Medication(1L, null, "name", 300, true, "MDC_33A", "imageUrl",
+                new Drone(1L, null, "MDC_32A", Model.LIGHT_WEIGHT, 300, 0, 0, 59, State.IDLE,
+                        LocalDateTime.of(2020, 1, 1, 0, 0, 0), Set.of()));
+        when(mockMedicationRepository.updateAvailability(List.of(1L), true, false, 1L)).thenReturn(1);
+
+        // Run the test
+        medicationServiceUnderTest.updateMedicationAvailability(Set.of(medication), false, 1L);
+
+        // Verify the results
+        assertThat(medication.isAvailable()).isFalse();
+    }
+
+    @Test
+    void testUpdateMedicationAvailability_ChunksLargeSets() {
+        // Setup
+        final List<Medication> medications = LongStream.rangeClosed(1, 2_500)
+                .mapToObj(id -> new Medication(id, null, "name", 1, false, "MDC_" + id, null, null))
+                .toList();
+        when(mockMedicationRepository.updateAvailability(anyList(), eq(false), eq(true), isNull()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        // Run the test
+        medicationServiceUnderTest.updateMedicationAvailability(medications, true, null);
+
+        // Verify the results
+        verify(mockMedicationRepository, times(3)).updateAvailability(anyList(), eq(false), eq(true), isNull());
+        assertThat(medications).allMatch(Medication::isAvailable);
+    }
 
-        // Configure MedicationRepository.saveAll(...).
-        when(mockMedicationRepository.saveAll(any(Set.class))).thenReturn(List.of(medications));
+    @Test
+    void testUpdateMedicationAvailability_TakenConcurrently() {
+        // Setup
+        final List<Medication> medications = List.of(
+                new Medication(1L, null, "name", 1, true, "MDC_1", null, null),
+                new Medication(2L, null, "name", 1, true, "MDC_2", null, null));
+        when(mockMedicationRepository.updateAvailability(List.of(1L, 2L), true, false, 5L)).thenReturn(1);
+
+        // Run the test
+        assertThatThrownBy(() -> medicationServiceUnderTest.updateMedicationAvailability(medications, false, 5L))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void testReleaseFromDrone_ChunksLargeSets() {
+        // Setup
+        final List<Medication> medications = LongStream.rangeClosed(1, 2_500)
+                .mapToObj(id -> new Medication(id, null, "name", 1, false, "MDC_" + id, null, null))
+                .toList();
+        when(mockMedicationRepository.releaseFromDrone(anyList(), eq(5L)))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
 
         // Run the test
-        medicationServiceUnderTest.updateMedicationAvailability(medications, false);
+        medicationServiceUnderTest.releaseFromDrone(medications, 5L);
 
         // Verify the results
-        verify(mockMedicationRepository).saveAll(any(Set.class));
+        verify(mockMedicationRepository, times(3)).releaseFromDrone(anyList(), eq(5L));
+        assertThat(medications).allMatch(Medication::isAvailable);
+    }
+
+    @Test
+    void testReleaseFromDrone_ReleasedConcurrently() {
+        // Setup
+        final List<Medication> medications = List.of(
+                new Medication(1L, null, "name", 1, false, "MDC_1", null, null),
+                new Medication(2L, null, "name", 1, false, "MDC_2", null, null));
+        when(mockMedicationRepository.releaseFromDrone(List.of(1L, 2L), 5L)).thenReturn(1);
+
+        // Run the test
+        assertThatThrownBy(() -> medicationServiceUnderTest.releaseFromDrone(medications, 5L))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
     }
 
     @Test
     void testFindAvailableMedication() {
         // Setup
-        final Medication expectedResult = new Medication(1L, "name", 300, false, "MDC_33A", "imageUrl",null);
+        final Medication expectedResult = new Medication(1L, null, "name", 300, false, "MDC_33A", "imageUrl",null);
 
         // Configure MedicationRepository.findMedicationByCodeAndAvailable(...).
-        final Optional<Medication> medication = Optional.of(new Medication(1L, "name", 300, false, "MDC_33A", "imageUrl",null));
+        final Optional<Medication> medication = Optional.of(new Medication(1L, null, "name", 300, false, "MDC_33A", "imageUrl",null));
         when(mockMedicationRepository.findMedicationByCodeAndAvailable("MDC_33A", true)).thenReturn(medication);
 
         // Run the test
@@ -186,7 +250,7 @@ class MedicationServiceTest {
         // Setup
         // Configure MedicationRepository.findMedicationByCodeAndAvailable(...).
         final Optional<Medication> medication = Optional.of(
-                new Medication(1L, "name", 0, false, "MDC_33A", "imageUrl", null));
+                new Medication(1L, null, "name", 0, false, "MDC_33A", "imageUrl", null));
         when(mockMedicationRepository.findMedicationByCodeAndAvailable("MDC_33A", true)).thenReturn(medication);
 
         // Run the test